@@ -0,0 +1,37 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "person.blocking-detection")
+public class BlockingDetectionProperties {
+
+    public enum Mode {
+        OFF, REPORT, FAIL
+    }
+
+    private Mode mode = Mode.OFF;
+
+    /**
+     * Métodos onde chamadas bloqueantes são permitidas, no formato {@code classe#metodo}.
+     */
+    private List<String> allowedCalls = new ArrayList<>();
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<String> getAllowedCalls() {
+        return allowedCalls;
+    }
+
+    public void setAllowedCalls(List<String> allowedCalls) {
+        this.allowedCalls = allowedCalls;
+    }
+}
@@ -0,0 +1,74 @@
+package com.me.backendchallenge.metrics;
+
+import com.me.backendchallenge.config.properties.BlockingDetectionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Instala o BlockHound quando o profile {@code blocking-detection} estiver ativo e
+ * {@code person.blocking-detection.mode} for {@code report} ou {@code fail}, tratando as threads do reactor-netty e do
+ * scheduler parallel como não bloqueantes. A instalação vale para a JVM inteira e não pode ser desfeita.
+ * <p>
+ * No modo report a chamada bloqueante é registrada no log e na métrica {@code person.blocking.calls}; no modo fail,
+ * além disso, é lançado um {@link BlockingOperationError} na thread que bloqueou.
+ */
+@Component
+@Profile("blocking-detection")
+@EnableConfigurationProperties(BlockingDetectionProperties.class)
+public class BlockingCallDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlockingCallDetector.class);
+
+    @Autowired
+    public BlockingCallDetector(BlockingDetectionProperties detection, MeterRegistry registry) {
+        if (detection.getMode() == BlockingDetectionProperties.Mode.OFF) {
+            return;
+        }
+
+        var builder = BlockHound.builder()
+                .nonBlockingThreadPredicate(current -> current.or(BlockingCallDetector::isNonBlocking))
+                .allowBlockingCallsInside("ch.qos.logback.core.AsyncAppenderBase", "append")
+                .blockingMethodCallback(method -> {
+                    registry.counter("person.blocking.calls", "method", method.toString()).increment();
+                    report(detection.getMode(), method);
+                });
+
+        detection.getAllowedCalls().forEach(call -> {
+            var separator = call.indexOf('#');
+
+            if (separator <= 0 || separator == call.length() - 1) {
+                throw new IllegalArgumentException(String.format(
+                        "Chamada permitida %s inválida em person.blocking-detection.allowed-calls, use o formato classe#metodo.", call));
+            }
+
+            builder.allowBlockingCallsInside(call.substring(0, separator), call.substring(separator + 1));
+        });
+
+        builder.install();
+
+        LOG.info("Detecção de chamadas bloqueantes habilitada no modo [{}]", detection.getMode());
+    }
+
+    private static boolean isNonBlocking(Thread thread) {
+        var name = thread.getName();
+        return name.startsWith("reactor-http-") || name.startsWith("parallel-");
+    }
+
+    private static void report(BlockingDetectionProperties.Mode mode, BlockingMethod method) {
+        var error = new BlockingOperationError(method);
+
+        if (mode == BlockingDetectionProperties.Mode.FAIL) {
+            throw error;
+        }
+
+        LOG.warn("Chamada bloqueante [{}] na thread [{}]", method, Thread.currentThread().getName(), error);
+    }
+}
@@ -0,0 +1,32 @@
+package com.me.backendchallenge.load;
+
+import java.util.Arrays;
+
+enum LoadOperation {
+
+    SAVE("save"),
+    SAVE_MANY("saveMany"),
+    FIND_ALL("findAll"),
+    FIND_BY_DOCUMENT("findByDocument"),
+    FIND_BY_NAME("findByName"),
+    UPDATE("update"),
+    INACTIVATE("inactivate"),
+    EXPORT("export");
+
+    private final String key;
+
+    LoadOperation(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    static LoadOperation of(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equalsIgnoreCase(key.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Operação %s não existe.", key)));
+    }
+}
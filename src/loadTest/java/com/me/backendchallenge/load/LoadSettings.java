@@ -0,0 +1,124 @@
+package com.me.backendchallenge.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Parâmetros do teste de carga, lidos das system properties {@code load.*} repassadas pela task loadTest.
+ */
+class LoadSettings {
+
+    private static final String DEFAULT_MIX = "findByDocument:25,findByName:10,findAll:5,save:20,saveMany:5," +
+            "update:20,inactivate:10,export:5";
+
+    private final int concurrency;
+    private final int initialPersons;
+    private final long randomSeed;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<LoadOperation, Integer> mix;
+    private final Path report;
+
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private LoadSettings(int concurrency, int initialPersons, long randomSeed, Duration warmup, Duration duration,
+                         Map<LoadOperation, Integer> mix, Path report) {
+        this.concurrency = concurrency;
+        this.initialPersons = initialPersons;
+        this.randomSeed = randomSeed;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.report = report;
+
+        this.operations = mix.keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+
+        var total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.concurrency", 32),
+                Integer.getInteger("load.initial-persons", 1000),
+                Long.getLong("load.random-seed", 42L),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                Paths.get(System.getProperty("load.report", "build/reports/load/load-test.txt")));
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<LoadOperation, Integer>(LoadOperation.class);
+
+        for (var entry : mix.split(",")) {
+            var pair = entry.split(":");
+            var weight = Integer.parseInt(pair[1].trim());
+
+            if (weight > 0) {
+                weights.put(LoadOperation.of(pair[0]), weight);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("O mix de operações do teste de carga está vazio.");
+        }
+
+        return weights;
+    }
+
+    LoadOperation next(Random random) {
+        var value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    int getInitialPersons() {
+        return initialPersons;
+    }
+
+    long getRandomSeed() {
+        return randomSeed;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Path getReport() {
+        return report;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("concurrency=%d initialPersons=%d randomSeed=%d warmup=%s duration=%s mix=%s",
+                concurrency, initialPersons, randomSeed, warmup, duration,
+                mix.entrySet().stream()
+                        .map(entry -> entry.getKey().getKey() + ":" + entry.getValue())
+                        .collect(Collectors.joining(",")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.me.backendchallenge.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências em microssegundos por operação, registradas sem lock pelos workers do teste de carga.
+ */
+class LoadStats {
+
+    private final Map<LoadOperation, OperationStats> operations = new EnumMap<>(LoadOperation.class);
+    private final OperationStats total = new OperationStats();
+
+    LoadStats() {
+        for (var operation : LoadOperation.values()) {
+            operations.put(operation, new OperationStats());
+        }
+    }
+
+    void record(LoadOperation operation, int status, long elapsedNanos) {
+        operations.get(operation).record(status, elapsedNanos);
+        total.record(status, elapsedNanos);
+    }
+
+    void failure(LoadOperation operation) {
+        operations.get(operation).failures.increment();
+        total.failures.increment();
+    }
+
+    long requests() {
+        return total.histogram.getTotalCount();
+    }
+
+    void write(LoadSettings settings, Duration elapsed) {
+        var seconds = elapsed.toNanos() / 1_000_000_000d;
+        var lines = new ArrayList<String>();
+
+        lines.add(String.format("Teste de carga - %s", LocalDateTime.now()));
+        lines.add(settings.toString());
+        lines.add(String.format("elapsed=%.3fs", seconds));
+        lines.add("");
+        lines.add(String.format("%-16s %10s %8s %8s %8s %8s %10s %9s %9s %9s %9s",
+                "operation", "requests", "2xx", "4xx", "5xx", "failures", "req/s", "p50(ms)", "p95(ms)", "p99(ms)",
+                "max(ms)"));
+
+        operations.forEach((operation, stats) -> {
+            if (stats.histogram.getTotalCount() > 0 || stats.failures.sum() > 0) {
+                lines.add(stats.format(operation.getKey(), seconds));
+            }
+        });
+
+        lines.add(total.format("total", seconds));
+
+        try {
+            Files.createDirectories(settings.getReport().toAbsolutePath().getParent());
+            Files.write(settings.getReport(), lines);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class OperationStats {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder success = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private void record(int status, long elapsedNanos) {
+            histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            } else {
+                success.increment();
+            }
+        }
+
+        private String format(String name, double seconds) {
+            return String.format("%-16s %10d %8d %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                    name, histogram.getTotalCount(), success.sum(), clientErrors.sum(), serverErrors.sum(),
+                    failures.sum(), histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000d;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.me.backendchallenge.load;
+
+import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.endpoint.request.PersonRequest;
+import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.me.backendchallenge.constants.Constants.PATH;
+import static com.me.backendchallenge.constants.Constants.PERSON_PATH;
+
+/**
+ * Executa cada operação do mix contra a API e devolve o status HTTP. As pessoas criadas ficam num anel de tamanho
+ * fixo para serem reaproveitadas nas buscas, alterações e inativações.
+ */
+class PersonLoadClient {
+
+    private static final int CREATED_POOL_SIZE = 8192;
+    private static final int SAVE_MANY_SIZE = 10;
+    private static final int NAMES = 100;
+
+    private final WebClient client;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicReferenceArray<PersonResponse> created = new AtomicReferenceArray<>(CREATED_POOL_SIZE);
+
+    PersonLoadClient(WebClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Operação que será de fato executada: as que precisam de uma pessoa já criada viram SAVE enquanto o anel estiver
+     * vazio. Como o anel só cresce, o retorno vale também para a chamada seguinte de {@link #execute}.
+     */
+    LoadOperation effective(LoadOperation operation) {
+        return needsPerson(operation) && createdCount.get() == 0 ? LoadOperation.SAVE : operation;
+    }
+
+    Mono<Integer> execute(LoadOperation operation) {
+        var person = needsPerson(operation) ? pick() : null;
+
+        if (person == null && needsPerson(operation)) {
+            return save();
+        }
+
+        switch (operation) {
+            case SAVE_MANY:
+                return saveMany();
+            case FIND_ALL:
+                return drain(client.get().uri(PERSON_PATH));
+            case FIND_BY_DOCUMENT:
+                return drain(client.get().uri(PERSON_PATH + "?document={document}", person.getDocument()));
+            case FIND_BY_NAME:
+                return drain(client.get().uri(PERSON_PATH + "?name={name}", person.getName()));
+            case UPDATE:
+                return update(person);
+            case INACTIVATE:
+                return drain(client.delete().uri(PERSON_PATH + "/{id}", person.getId()));
+            case EXPORT:
+                return drain(client.get().uri(PERSON_PATH + "/export"));
+            default:
+                return save();
+        }
+    }
+
+    private Mono<Integer> save() {
+        return client.post()
+                .uri(PERSON_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(newRequest()), PersonRequest.class)
+                .exchange()
+                .flatMap(response -> response.statusCode() == HttpStatus.CREATED ?
+                        response.bodyToMono(PersonResponse.class)
+                                .doOnNext(this::remember)
+                                .thenReturn(response.rawStatusCode()) :
+                        discard(response));
+    }
+
+    private Mono<Integer> saveMany() {
+        return client.post()
+                .uri(PATH + "/persons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.range(0, SAVE_MANY_SIZE).map($ -> newRequest()), PersonRequest.class)
+                .exchange()
+                .flatMap(response -> response.statusCode() == HttpStatus.CREATED ?
+                        response.bodyToFlux(PersonResponse.class)
+                                .doOnNext(this::remember)
+                                .then(Mono.just(response.rawStatusCode())) :
+                        discard(response));
+    }
+
+    private Mono<Integer> update(PersonResponse person) {
+        var request = new UpdatePersonRequest(person.getId(), person.getName(), person.getLastName(),
+                person.getDocument(), person.getBirthDate(), "Rua " + sequence.incrementAndGet(),
+                person.getPhones(), person.getEmails());
+
+        return drain(client.put()
+                .uri(PERSON_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), UpdatePersonRequest.class));
+    }
+
+    private Mono<Integer> drain(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchange().flatMap(this::discard);
+    }
+
+    private Mono<Integer> discard(ClientResponse response) {
+        return response.bodyToMono(Void.class).thenReturn(response.rawStatusCode());
+    }
+
+    private PersonRequest newRequest() {
+        var number = sequence.incrementAndGet();
+
+        return new PersonRequest("Carga" + (number % NAMES), TestsConstants.LAST_NAME, document(number),
+                TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList(TestsConstants.PHONE),
+                Collections.singletonList("carga" + number + "@teste.com.br"));
+    }
+
+    private void remember(PersonResponse person) {
+        created.set((int) (createdCount.getAndIncrement() % CREATED_POOL_SIZE), person);
+    }
+
+    private static boolean needsPerson(LoadOperation operation) {
+        return operation != LoadOperation.SAVE && operation != LoadOperation.SAVE_MANY
+                && operation != LoadOperation.FIND_ALL && operation != LoadOperation.EXPORT;
+    }
+
+    private PersonResponse pick() {
+        var size = (int) Math.min(createdCount.get(), CREATED_POOL_SIZE);
+        return size == 0 ? null : created.get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    /**
+     * Monta um CPF válido e único a partir da sequência, calculando os dois dígitos verificadores.
+     */
+    static String document(long number) {
+        var digits = new int[11];
+        var base = String.valueOf(100_000_000L + number % 900_000_000L);
+
+        for (int i = 0; i < 9; i++) {
+            digits[i] = base.charAt(i) - '0';
+        }
+
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+
+        var document = new StringBuilder(11);
+        for (var digit : digits) {
+            document.append(digit);
+        }
+
+        return document.toString();
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        var sum = 0;
+
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+
+        var rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+}
@@ -0,0 +1,116 @@
+package com.me.backendchallenge.load;
+
+import com.me.backendchallenge.repository.PersonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sobe a aplicação com o Mongo embarcado e dispara o mix de operações configurado com concorrência fixa, gravando
+ * vazão e percentis de latência por rota em {@code load.report}. Executado somente pela task loadTest.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PersonLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder builder;
+
+    @Autowired
+    private PersonRepository repository;
+
+    private LoadSettings settings;
+    private ConnectionProvider connections;
+    private LoopResources loops;
+    private PersonLoadClient client;
+
+    @BeforeEach
+    void setUp() {
+        settings = LoadSettings.fromSystemProperties();
+
+        //O cliente roda em event loops próprios para não disputar as threads do servidor
+        connections = ConnectionProvider.fixed("load-test", settings.getConcurrency());
+        loops = LoopResources.create("load-client");
+
+        var httpClient = HttpClient.create(connections)
+                .tcpConfiguration(tcp -> tcp.runOn(loops));
+
+        client = new PersonLoadClient(builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl("http://localhost:" + port)
+                .build());
+
+        repository.deleteAll().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connections.dispose();
+        loops.dispose();
+    }
+
+    @Test
+    @DisplayName("Deve medir a vazão e os percentis de latência de cada rota com o mix configurado")
+    void test1() {
+        Flux.range(0, settings.getInitialPersons())
+                .flatMap($ -> client.execute(LoadOperation.SAVE), settings.getConcurrency())
+                .blockLast();
+
+        var random = new Random(settings.getRandomSeed());
+
+        run(random, new LoadStats(), settings.getWarmup());
+
+        var stats = new LoadStats();
+        var start = System.nanoTime();
+
+        run(random, stats, settings.getDuration());
+
+        stats.write(settings, Duration.ofNanos(System.nanoTime() - start));
+
+        assertTrue(stats.requests() > 0);
+    }
+
+    private void run(Random random, LoadStats stats, Duration duration) {
+        Flux.<LoadOperation>generate(sink -> sink.next(settings.next(random)))
+                .flatMap(operation -> measure(operation, stats), settings.getConcurrency())
+                .take(duration)
+                .blockLast();
+    }
+
+    private Mono<Integer> measure(LoadOperation operation, LoadStats stats) {
+        return Mono.defer(() -> {
+            var executed = client.effective(operation);
+            var start = System.nanoTime();
+
+            return client.execute(executed)
+                    .doOnNext(status -> stats.record(executed, status, System.nanoTime() - start))
+                    .onErrorResume(e -> {
+                        stats.failure(executed);
+                        return Mono.empty();
+                    });
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.me.backendchallenge.load;
+
+import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.me.backendchallenge.model.Person;
+import com.me.backendchallenge.repository.item.PersonItem;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede os bytes alocados por registro lido do MongoDB no caminho antigo das rotas de leitura
+ * (documento -> PersonItem -> Person -> PersonResponse) e na projeção direta para PersonResponse usada por
+ * listPersons e findUser, com o mesmo conversor da aplicação. O resultado é gravado em {@code load.allocation-report}.
+ * Executado somente pela task loadTest.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadProjectionAllocationTest {
+
+    private static final int RECORDS = Integer.getInteger("load.allocation-records", 200_000);
+
+    @Autowired
+    private MongoConverter converter;
+
+    //Mantém os objetos lidos alcançáveis para que a alocação não seja eliminada pelo JIT
+    private final Object[] sink = new Object[1024];
+
+    @Test
+    @DisplayName("Deve alocar menos por registro na projeção direta do que na conversão PersonItem -> Person -> PersonResponse")
+    void test1() {
+        var document = new Document();
+        converter.write(new PersonItem(buildPerson()), document);
+
+        Function<Document, Object> before = source -> new PersonResponse(new Person(converter.read(PersonItem.class, source)));
+        Function<Document, Object> after = source -> converter.read(PersonResponse.class, source);
+
+        //Aquecimento dos dois caminhos antes da medição
+        measure(before, document);
+        measure(after, document);
+
+        var beforeBytes = measure(before, document);
+        var afterBytes = measure(after, document);
+
+        write(List.of(
+                String.format("Alocação por registro lido - %s", LocalDateTime.now()),
+                String.format("records=%d", RECORDS),
+                "",
+                String.format("%-40s %14s", "path", "bytes/record"),
+                String.format("%-40s %14.1f", "PersonItem -> Person -> PersonResponse", beforeBytes),
+                String.format("%-40s %14.1f", "PersonResponse (projeção)", afterBytes)));
+
+        assertTrue(afterBytes < beforeBytes);
+    }
+
+    private double measure(Function<Document, Object> read, Document document) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var thread = Thread.currentThread().getId();
+        var start = threads.getThreadAllocatedBytes(thread);
+
+        for (int i = 0; i < RECORDS; i++) {
+            sink[i & (sink.length - 1)] = read.apply(document);
+        }
+
+        return (threads.getThreadAllocatedBytes(thread) - start) / (double) RECORDS;
+    }
+
+    private void write(List<String> lines) {
+        var report = Paths.get(System.getProperty("load.allocation-report",
+                "build/reports/load/read-projection-allocation.txt"));
+
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.write(report, lines);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Person buildPerson() {
+        return new Person.Builder()
+                .withId(UUID.randomUUID().toString())
+                .withName(TestsConstants.NAME)
+                .withLastName(TestsConstants.LAST_NAME)
+                .withDocument(TestsConstants.DOCUMENT)
+                .withBirthDate(TestsConstants.BIRTH_DATE)
+                .withAddress(TestsConstants.ADDRESS)
+                .withPhones(List.of(TestsConstants.PHONE))
+                .withEmails(List.of(TestsConstants.E_MAIL))
+                .withActive(true)
+                .withCreatedAt(LocalDateTime.now())
+                .withUpdatedAt()
+                .build();
+    }
+}
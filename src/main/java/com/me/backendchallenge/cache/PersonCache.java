@@ -0,0 +1,152 @@
+package com.me.backendchallenge.cache;
+
+import com.me.backendchallenge.config.properties.CacheProperties;
+import com.me.backendchallenge.repository.Workload;
+import com.me.backendchallenge.repository.item.PersonItem;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache local dos PersonItem por id, com um índice de CPF para id. Só é consultado enquanto o
+ * {@link PersonChangeStreamListener} estiver recebendo as alterações da coleção; fora disso as buscas vão direto ao
+ * MongoDB. Os carregamentos devem ler do primary. As chamadas {@link Workload#BULK} também vão direto ao MongoDB, sem
+ * ler nem preencher o cache, para que um lote não expulse as pessoas buscadas pelas rotas interativas.
+ * <p>
+ * Cada alteração registra a versão do seu id: um carregamento iniciado antes dela não é mantido, pois pode ter lido a
+ * versão anterior do documento, sem afetar os carregamentos dos demais ids. A limpeza do cache vale para todos os
+ * carregamentos em andamento.
+ */
+@Component
+public class PersonCache {
+
+    private final boolean enabled;
+    private final Cache<String, PersonItem> byId;
+    private final Cache<String, String> byDocument;
+    private final Cache<String, Long> versions;
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Carregamentos iniciados antes desta versão são descartados: a da última limpeza ou a maior das versões já
+     * removidas de {@link #versions}.
+     */
+    private final AtomicLong floor = new AtomicLong();
+
+    private volatile boolean active;
+
+    public PersonCache(CacheProperties cache) {
+        this.enabled = cache.isEnabled();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.byDocument = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getExpireAfterWrite())
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getExpireAfterWrite())
+                .executor(Runnable::run)
+                .<String, Long>removalListener((id, version, cause) -> {
+                    if (cause.wasEvicted()) {
+                        floor.accumulateAndGet(version, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    @Autowired
+    public PersonCache(CacheProperties cache, MeterRegistry registry) {
+        this(cache);
+        CaffeineCacheMetrics.monitor(registry, byId, "person");
+    }
+
+    public Mono<PersonItem> findById(String id, Function<String, Mono<PersonItem>> loader) {
+        return Mono.subscriberContext().flatMap(context -> {
+            if (bypass(context)) {
+                return loader.apply(id);
+            }
+
+            var cached = byId.getIfPresent(id);
+            return cached != null ? Mono.just(cached) : load(loader.apply(id));
+        });
+    }
+
+    public Mono<PersonItem> findByDocument(String document, Function<String, Mono<PersonItem>> loader) {
+        return Mono.subscriberContext().flatMap(context -> {
+            if (bypass(context)) {
+                return loader.apply(document);
+            }
+
+            var id = byDocument.getIfPresent(document);
+            var cached = id == null ? null : byId.getIfPresent(id);
+
+            //O CPF pode ter mudado depois que o índice foi preenchido
+            return cached != null && document.equals(cached.getDocument()) ?
+                    Mono.just(cached) :
+                    load(loader.apply(document));
+        });
+    }
+
+    public void update(PersonItem item) {
+        versions.put(item.getId(), clock.incrementAndGet());
+        byId.asMap().computeIfPresent(item.getId(), (id, current) -> item);
+    }
+
+    public void invalidate(String id) {
+        versions.put(id, clock.incrementAndGet());
+        byId.invalidate(id);
+    }
+
+    public void clear() {
+        floor.accumulateAndGet(clock.incrementAndGet(), Math::max);
+        byId.invalidateAll();
+        byDocument.invalidateAll();
+    }
+
+    void activate() {
+        active = enabled;
+    }
+
+    void suspend() {
+        active = false;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    private boolean bypass(Context context) {
+        return !active || Workload.from(context) == Workload.BULK;
+    }
+
+    private Mono<PersonItem> load(Mono<PersonItem> loader) {
+        return Mono.defer(() -> {
+            var start = clock.get();
+
+            return loader.doOnNext(item -> {
+                byId.put(item.getId(), item);
+                byDocument.put(item.getDocument(), item.getId());
+
+                if (changedSince(item.getId(), start)) {
+                    byId.invalidate(item.getId());
+                }
+            });
+        });
+    }
+
+    private boolean changedSince(String id, long start) {
+        var version = versions.getIfPresent(id);
+        return floor.get() > start || (version != null && version > start);
+    }
+}
@@ -0,0 +1,195 @@
+package com.me.backendchallenge.cache;
+
+import com.me.backendchallenge.config.properties.CacheProperties;
+import com.me.backendchallenge.repository.item.PersonItem;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Acompanha o change stream da coleção person e repassa as alterações ao {@link PersonCache} desta instância, seja
+ * ela de qualquer nó. O resume token é salvo periodicamente para retomar o stream depois de uma queda sem perder
+ * eventos; se ele não estiver mais no oplog (ou a coleção for removida), o cache é limpo e o stream recomeça do
+ * operationTime atual do servidor.
+ * <p>
+ * O cache só é ativado depois que o ponto de partida do stream está definido (resume token ou operationTime lido
+ * antes da ativação), então nenhuma alteração posterior à ativação fica de fora, mesmo antes de o cursor abrir. Em
+ * qualquer falha o cache é suspenso e limpo, descartando também os carregamentos em andamento.
+ */
+@Component
+public class PersonChangeStreamListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersonChangeStreamListener.class);
+
+    //CappedPositionLost, ChangeStreamFatalError e ChangeStreamHistoryLost
+    private static final Set<Integer> HISTORY_LOST = Set.of(136, 280, 286);
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+    private final ReactiveMongoTemplate template;
+    private final PersonCache cache;
+    private final CacheProperties properties;
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+
+    private volatile Disposable subscription;
+
+    @Autowired
+    public PersonChangeStreamListener(ReactiveMongoTemplate template, PersonCache cache, CacheProperties properties) {
+        this.template = template;
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        subscription = loadResumeToken()
+                .doOnNext(resumeToken::set)
+                .thenMany(Flux.defer(this::changes)
+                        .doOnNext(this::apply)
+                        .flatMap($ -> Mono.justOrEmpty(resumeToken.get()))
+                        .sample(properties.getResumeTokenInterval())
+                        .concatMap(this::saveResumeToken)
+                        .doOnError(this::failed)
+                        .retryBackoff(Long.MAX_VALUE, properties.getMinBackoff(), properties.getMaxBackoff())
+                        .repeat())
+                .subscribe();
+
+        LOG.info("Cache de person habilitado, acompanhando o change stream da coleção.");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<ChangeStreamEvent<PersonItem>> changes() {
+        var options = ChangeStreamOptions.builder()
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+
+        var token = resumeToken.get();
+
+        var start = token != null ?
+                Mono.just(options.resumeToken(token)) :
+                operationTime().map(time -> {
+                    cache.clear();
+                    return options.resumeAt(time);
+                });
+
+        return start.flatMapMany(selected -> template.changeStream(template.getMongoDatabase().getName(),
+                template.getCollectionName(PersonItem.class), selected.build(), PersonItem.class)
+                .doOnSubscribe($ -> cache.activate()));
+    }
+
+    /**
+     * Horário do servidor, truncado no segundo, em que o stream deve começar quando não há resume token.
+     */
+    private Mono<Instant> operationTime() {
+        return template.executeCommand(new Document("ping", 1))
+                .flatMap(result -> Mono.justOrEmpty(result.get("operationTime", BsonTimestamp.class)))
+                .map(time -> Instant.ofEpochSecond(time.getTime()))
+                .switchIfEmpty(Mono.error(new IllegalStateException("O MongoDB não informou o operationTime, o change stream exige replica set.")));
+    }
+
+    private void apply(ChangeStreamEvent<PersonItem> event) {
+        var raw = event.getRaw();
+
+        switch (raw.getOperationType()) {
+            case INSERT:
+            case UPDATE:
+            case REPLACE:
+                var item = event.getBody();
+
+                if (item != null) {
+                    cache.update(item);
+                } else {
+                    cache.invalidate(id(raw));
+                }
+                break;
+
+            case DELETE:
+                cache.invalidate(id(raw));
+                break;
+
+            default:
+                LOG.warn("Evento [{}] no change stream da coleção person, reiniciando o cache.", raw.getOperationType());
+                cache.clear();
+                resumeToken.set(null);
+                return;
+        }
+
+        resumeToken.set(event.getResumeToken());
+    }
+
+    private void failed(Throwable error) {
+        cache.suspend();
+        cache.clear();
+
+        if (error instanceof MongoException && HISTORY_LOST.contains(((MongoException) error).getCode())) {
+            LOG.warn("Resume token do cache de person fora do oplog, refazendo o cache do zero.", error);
+            resumeToken.set(null);
+            return;
+        }
+
+        LOG.warn("Falha no change stream da coleção person, cache suspenso até a reconexão.", error);
+    }
+
+    /**
+     * Com a estratégia object-id o Spring grava o id hexadecimal como ObjectId; nas demais ele é uma string.
+     */
+    private static String id(ChangeStreamDocument<Document> raw) {
+        var id = raw.getDocumentKey().get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private Mono<BsonValue> loadResumeToken() {
+        return Mono.from(tokens().find(Filters.eq("_id", properties.getNodeId())).first())
+                .map(document -> document.get("token"))
+                .onErrorResume(error -> {
+                    LOG.warn("Não foi possível ler o resume token do cache de person.", error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> saveResumeToken(BsonValue token) {
+        var document = new BsonDocument("_id", new BsonString(properties.getNodeId()))
+                .append("token", token);
+
+        return Mono.from(tokens().replaceOne(Filters.eq("_id", properties.getNodeId()), document, UPSERT))
+                .then();
+    }
+
+    private MongoCollection<BsonDocument> tokens() {
+        return template.getCollection(properties.getResumeTokenCollection())
+                .withDocumentClass(BsonDocument.class);
+    }
+}
@@ -1,16 +1,49 @@
 package com.me.backendchallenge.config;
 
+import com.me.backendchallenge.config.properties.BulkProperties;
+import com.me.backendchallenge.config.properties.CacheProperties;
+import com.me.backendchallenge.config.properties.ClockProperties;
+import com.me.backendchallenge.config.properties.CodecProperties;
+import com.me.backendchallenge.config.properties.ConcurrencyProperties;
+import com.me.backendchallenge.config.properties.DeadlineProperties;
+import com.me.backendchallenge.config.properties.DeltaProperties;
+import com.me.backendchallenge.config.properties.ExportProperties;
+import com.me.backendchallenge.config.properties.FeedProperties;
+import com.me.backendchallenge.config.properties.IdProperties;
+import com.me.backendchallenge.config.properties.IdempotencyProperties;
+import com.me.backendchallenge.config.properties.LoggingProperties;
+import com.me.backendchallenge.config.properties.PersonMongoProperties;
+import com.me.backendchallenge.config.properties.RateLimitProperties;
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+import com.me.backendchallenge.config.properties.StreamProperties;
+import com.me.backendchallenge.config.properties.TracingProperties;
+import com.me.backendchallenge.config.properties.WritesProperties;
 import com.me.backendchallenge.exceptions.InternalServerErrorException;
+import com.me.backendchallenge.model.id.IdGenerator;
+import com.me.backendchallenge.model.id.ObjectIdGenerator;
+import com.me.backendchallenge.model.id.RandomUuidGenerator;
+import com.me.backendchallenge.model.id.TimeOrderedIdGenerator;
+import com.me.backendchallenge.util.time.CachedTimeSource;
+import com.me.backendchallenge.util.time.ClockTimeSource;
+import com.me.backendchallenge.util.time.TimeSource;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 
+import java.time.Clock;
+
 @Configuration
+@EnableConfigurationProperties({ExportProperties.class, StreamProperties.class, TracingProperties.class,
+        LoggingProperties.class, IdProperties.class, ClockProperties.class, PersonMongoProperties.class,
+        WritesProperties.class, CacheProperties.class, FeedProperties.class, IdempotencyProperties.class,
+        ConcurrencyProperties.class, RateLimitProperties.class, DeadlineProperties.class, ResilienceProperties.class,
+        BulkProperties.class, DeltaProperties.class, CodecProperties.class})
 public class ApplicationConfig {
 
     @Bean
@@ -23,10 +56,31 @@ public class ApplicationConfig {
         return new InternalServerErrorException();
     }
 
+    @Bean
+    public IdGenerator idGenerator(IdProperties properties) {
+        switch (properties.getStrategy()) {
+            case OBJECT_ID:
+                return new ObjectIdGenerator();
+            case RANDOM_UUID:
+                return new RandomUuidGenerator();
+            default:
+                return new TimeOrderedIdGenerator();
+        }
+    }
+
+    @Bean
+    public TimeSource timeSource(ClockProperties properties) {
+        return properties.getMode() == ClockProperties.Mode.CACHED ?
+                new CachedTimeSource(Clock.systemDefaultZone(), properties.getResolution()) :
+                new ClockTimeSource(Clock.systemDefaultZone());
+    }
+
     @Bean
     public ObjectMapper jacksonConfig() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
 
+    public static ObjectMapper configure(ObjectMapper mapper) {
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -0,0 +1,37 @@
+package com.me.backendchallenge.config;
+
+import com.me.backendchallenge.config.codec.JacksonBinaryDecoder;
+import com.me.backendchallenge.config.properties.CodecProperties;
+import com.me.backendchallenge.config.codec.JacksonBinaryEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.me.backendchallenge.constants.Constants.APPLICATION_CBOR;
+import static com.me.backendchallenge.constants.Constants.APPLICATION_SMILE;
+
+/**
+ * Registra os codecs binários (CBOR e Smile) usados na comunicação entre serviços internos, reaproveitando os mesmos
+ * DTOs e a mesma configuração do ObjectMapper de JSON.
+ */
+@Configuration
+public class CodecConfig {
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(CodecProperties properties) {
+        var maxInMemorySize = (int) properties.getMaxInMemorySize().toBytes();
+        var cborMapper = ApplicationConfig.configure(new ObjectMapper(new CBORFactory()));
+        var smileMapper = ApplicationConfig.configure(new ObjectMapper(new SmileFactory()));
+
+        return configurer -> {
+            configurer.customCodecs().decoder(new JacksonBinaryDecoder(cborMapper, maxInMemorySize, APPLICATION_CBOR));
+            configurer.customCodecs().encoder(new JacksonBinaryEncoder(cborMapper, APPLICATION_CBOR));
+
+            configurer.customCodecs().decoder(new JacksonBinaryDecoder(smileMapper, maxInMemorySize, APPLICATION_SMILE));
+            configurer.customCodecs().encoder(new JacksonBinaryEncoder(smileMapper, APPLICATION_SMILE));
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package com.me.backendchallenge.config;
+
+import com.me.backendchallenge.config.properties.BulkProperties;
+import com.me.backendchallenge.config.properties.PersonMongoProperties;
+import com.me.backendchallenge.metrics.MongoPoolMetrics;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.netty.NettyStreamFactoryFactory;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ajustes do driver reativo do MongoDB (pool, timeouts, compressão, read preference e write concern). Os valores
+ * vêm de person.mongo e são aplicados depois da URI, então prevalecem sobre as opções informadas nela.
+ */
+@Configuration
+public class MongoConfig {
+
+    public static final String INTERACTIVE = "interactive";
+    public static final String BULK = "bulk";
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientSettings(PersonMongoProperties mongo,
+                                                                    MongoPoolMetrics poolMetrics) {
+        var pool = mongo.getPool();
+
+        return builder -> builder
+                .applyToClusterSettings(settings -> settings.description(INTERACTIVE))
+                .applyToConnectionPoolSettings(settings -> pool(settings, pool)
+                        .addConnectionPoolListener(poolMetrics))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout((int) mongo.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) mongo.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .compressorList(compressors(mongo.getCompressors()))
+                .readPreference(ReadPreference.valueOf(mongo.getReadPreference()))
+                .writeConcern(writeConcern(mongo.getWriteConcern()));
+    }
+
+    /**
+     * Mesmo MongoClient da auto configuração do Spring Boot. Ele precisa ser declarado aqui, pois a auto configuração
+     * não o cria quando já existe outro MongoClient (o de lote).
+     */
+    @Bean
+    @Primary
+    public MongoClient reactiveStreamsMongoClient(MongoProperties mongoProperties, Environment environment,
+                                                  ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        return new ReactiveMongoClientFactory(mongoProperties, environment,
+                customizers.orderedStream().collect(Collectors.toList()))
+                .createMongoClient(null);
+    }
+
+    /**
+     * MongoClient da importação em lote, exportação e sincronização. Recebe as mesmas configurações do MongoClient
+     * principal, mas com o pool de person.mongo.bulk-pool e event loop próprio, para que o lote não atrase as
+     * respostas das rotas de uma pessoa só.
+     */
+    @Bean
+    public MongoClient bulkMongoClient(MongoProperties mongoProperties, Environment environment,
+                                       ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+                                       @Qualifier("bulkMongoEventLoopGroup") EventLoopGroup eventLoopGroup,
+                                       PersonMongoProperties mongo) {
+        var pool = mongo.getBulkPool();
+        var bulkCustomizers = customizers.orderedStream().collect(Collectors.toCollection(ArrayList::new));
+
+        bulkCustomizers.add(builder -> builder
+                .applyToClusterSettings(settings -> settings.description(BULK))
+                .applyToConnectionPoolSettings(settings -> pool(settings, pool))
+                .streamFactoryFactory(NettyStreamFactoryFactory.builder().eventLoopGroup(eventLoopGroup).build()));
+
+        return new ReactiveMongoClientFactory(mongoProperties, environment, bulkCustomizers).createMongoClient(null);
+    }
+
+    @Bean(destroyMethod = "shutdownGracefully")
+    public EventLoopGroup bulkMongoEventLoopGroup(BulkProperties properties) {
+        var threads = new DefaultThreadFactory("person-bulk-mongo", true);
+
+        return new NioEventLoopGroup(properties.getIoThreads(), threads);
+    }
+
+    @Bean
+    @Primary
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory factory, MongoConverter converter) {
+        return new ReactiveMongoTemplate(factory, converter);
+    }
+
+    /**
+     * Template das rotas de leitura, que podem ser atendidas pelos secundários do replica set.
+     */
+    @Bean
+    public ReactiveMongoTemplate readMongoTemplate(ReactiveMongoDatabaseFactory factory, MongoConverter converter,
+                                                   PersonMongoProperties mongo) {
+        return readTemplate(factory, converter, mongo);
+    }
+
+    @Bean
+    public ReactiveMongoTemplate bulkMongoTemplate(@Qualifier("bulkMongoClient") MongoClient client,
+                                                   MongoProperties mongoProperties, MongoConverter converter) {
+        return new ReactiveMongoTemplate(bulkFactory(client, mongoProperties), converter);
+    }
+
+    @Bean
+    public ReactiveMongoTemplate bulkReadMongoTemplate(@Qualifier("bulkMongoClient") MongoClient client,
+                                                       MongoProperties mongoProperties, MongoConverter converter,
+                                                       PersonMongoProperties mongo) {
+        return readTemplate(bulkFactory(client, mongoProperties), converter, mongo);
+    }
+
+    private static ReactiveMongoDatabaseFactory bulkFactory(MongoClient client, MongoProperties mongoProperties) {
+        return new SimpleReactiveMongoDatabaseFactory(client, mongoProperties.getMongoClientDatabase());
+    }
+
+    private static ReactiveMongoTemplate readTemplate(ReactiveMongoDatabaseFactory factory, MongoConverter converter,
+                                                      PersonMongoProperties mongo) {
+        var template = new ReactiveMongoTemplate(factory, converter);
+        template.setReadPreference(readPreference(mongo.getReads()));
+
+        return template;
+    }
+
+    private static ConnectionPoolSettings.Builder pool(ConnectionPoolSettings.Builder settings,
+                                                       PersonMongoProperties.Pool pool) {
+        return settings
+                .maxSize(pool.getMaxSize())
+                .minSize(pool.getMinSize())
+                .maxWaitQueueSize(pool.getMaxWaitQueueSize())
+                .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static ReadPreference readPreference(PersonMongoProperties.Reads reads) {
+        var name = reads.getReadPreference();
+
+        if (reads.getMaxStaleness() == null || ReadPreference.primary().getName().equalsIgnoreCase(name)) {
+            return ReadPreference.valueOf(name);
+        }
+
+        return ReadPreference.valueOf(name, Collections.emptyList(), reads.getMaxStaleness().getSeconds(),
+                TimeUnit.SECONDS);
+    }
+
+    static WriteConcern writeConcern(String name) {
+        var writeConcern = WriteConcern.valueOf(name);
+
+        if (writeConcern == null) {
+            throw new IllegalArgumentException(String.format("WriteConcern %s não existe.", name));
+        }
+
+        return writeConcern;
+    }
+
+    private static List<MongoCompressor> compressors(List<PersonMongoProperties.Compressor> compressors) {
+        return compressors.stream()
+                .map(compressor -> compressor == PersonMongoProperties.Compressor.SNAPPY ?
+                        MongoCompressor.createSnappyCompressor() :
+                        MongoCompressor.createZlibCompressor())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,18 @@
+package com.me.backendchallenge.config;
+
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+import com.me.backendchallenge.resilience.RepositoryResiliencePostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public static RepositoryResiliencePostProcessor repositoryResiliencePostProcessor(
+            ObjectProvider<ResilienceProperties> properties, ObjectProvider<MeterRegistry> registry) {
+        return new RepositoryResiliencePostProcessor(properties, registry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.me.backendchallenge.config.codec;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.exceptions.PayloadTooLargeException;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder para formatos binários do Jackson (CBOR/Smile). Aceita tanto um array na raiz quanto uma sequência de
+ * documentos concatenados, que é o que o {@link JacksonBinaryEncoder} produz para um Flux.
+ * <p>
+ * O corpo é acumulado em memória antes de ser lido (o Jackson não tem parser não bloqueante para esses formatos), por
+ * isso a leitura é limitada a {@code maxInMemorySize} bytes: acima disso a requisição é rejeitada com 413 sem esperar
+ * o restante do corpo.
+ */
+public class JacksonBinaryDecoder implements Decoder<Object> {
+
+    private final ObjectMapper mapper;
+    private final int maxInMemorySize;
+    private final List<MimeType> mimeTypes;
+
+    public JacksonBinaryDecoder(ObjectMapper mapper, int maxInMemorySize, MimeType... mimeTypes) {
+        this.mapper = mapper;
+        this.maxInMemorySize = maxInMemorySize;
+        this.mimeTypes = List.of(mimeTypes);
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null
+                && mimeTypes.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType))
+                && mapper.canDeserialize(mapper.getTypeFactory().constructType(elementType.getType()));
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                               MimeType mimeType, Map<String, Object> hints) {
+
+        var reader = mapper.readerFor(mapper.getTypeFactory().constructType(elementType.getType()));
+
+        return read(inputStream)
+                .flatMapMany(bytes -> Flux.fromIterable(readValues(reader, bytes)));
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                     MimeType mimeType, Map<String, Object> hints) {
+
+        var reader = mapper.readerFor(mapper.getTypeFactory().constructType(elementType.getType()));
+
+        return read(inputStream)
+                .map(bytes -> readValue(reader, bytes));
+    }
+
+    @Override
+    public List<MimeType> getDecodableMimeTypes() {
+        return mimeTypes;
+    }
+
+    private Object readValue(ObjectReader reader, byte[] bytes) {
+        try {
+            return reader.readValue(bytes);
+
+        } catch (IOException e) {
+            throw new DecodingException("Erro ao deserializar o corpo da requisição.", e);
+        }
+    }
+
+    private List<Object> readValues(ObjectReader reader, byte[] bytes) {
+        try (MappingIterator<Object> iterator = reader.readValues(bytes)) {
+            return iterator.readAll();
+
+        } catch (IOException e) {
+            throw new DecodingException("Erro ao deserializar o corpo da requisição.", e);
+        }
+    }
+
+    private Mono<byte[]> read(Publisher<DataBuffer> inputStream) {
+        return Flux.from(inputStream)
+                .reduceWith(ByteArrayOutputStream::new, this::append)
+                .filter(output -> output.size() > 0)
+                .map(ByteArrayOutputStream::toByteArray);
+    }
+
+    private ByteArrayOutputStream append(ByteArrayOutputStream output, DataBuffer buffer) {
+        try {
+            if (output.size() + buffer.readableByteCount() > maxInMemorySize) {
+                throw new PayloadTooLargeException(Constants.createErrorMessage(
+                        String.valueOf(maxInMemorySize), Constants.BODY_TOO_LARGE));
+            }
+
+            var bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            output.write(bytes, 0, bytes.length);
+
+            return output;
+
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
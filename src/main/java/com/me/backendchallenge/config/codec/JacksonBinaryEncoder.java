@@ -0,0 +1,61 @@
+package com.me.backendchallenge.config.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoder para formatos binários do Jackson (CBOR/Smile). Cada elemento de um Flux é escrito como um documento
+ * independente, sem agregar a lista inteira em memória, já que os dois formatos são auto-delimitados.
+ * <p>
+ * Só aceita MimeTypes explícitos, assim o Spring o registra junto dos codecs tipados, antes dos codecs padrão.
+ */
+public class JacksonBinaryEncoder implements Encoder<Object> {
+
+    private final ObjectMapper mapper;
+    private final List<MimeType> mimeTypes;
+
+    public JacksonBinaryEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        this.mapper = mapper;
+        this.mimeTypes = List.of(mimeTypes);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null
+                && mimeTypes.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType))
+                && mapper.canSerialize(elementType.resolve(Object.class));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+
+        return Flux.from(inputStream)
+                .map(value -> bufferFactory.wrap(writeValueAsBytes(value)));
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return mimeTypes;
+    }
+
+    private byte[] writeValueAsBytes(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("Erro ao serializar " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
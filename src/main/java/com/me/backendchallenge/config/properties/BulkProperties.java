@@ -0,0 +1,47 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "person.bulk")
+public class BulkProperties {
+
+    /**
+     * Threads do scheduler que valida as pessoas da importação em lote, fora do event loop. Por padrão, metade dos
+     * processadores, para que o lote não tome a CPU das rotas de uma pessoa só.
+     */
+    private int validationThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Pessoas do lote validadas e gravadas ao mesmo tempo.
+     */
+    private int concurrency = 64;
+
+    /**
+     * Threads do event loop do MongoClient de lote, separado do event loop do MongoClient principal.
+     */
+    private int ioThreads = 2;
+
+    public int getValidationThreads() {
+        return validationThreads;
+    }
+
+    public void setValidationThreads(int validationThreads) {
+        this.validationThreads = validationThreads;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+}
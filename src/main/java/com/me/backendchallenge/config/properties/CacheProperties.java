@@ -0,0 +1,94 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.cache")
+public class CacheProperties {
+
+    /**
+     * Cache local da consulta de pessoa por CPF, mantido pelo change stream da coleção person. As buscas de
+     * validação do cadastro e da alteração não passam por ele. Exige replica set.
+     */
+    private boolean enabled = false;
+    private long maximumSize = 100_000;
+
+    /**
+     * Limite de segurança para uma entrada que, por algum motivo, não recebeu o evento de alteração.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * Identifica o resume token desta instância na coleção resumeTokenCollection.
+     */
+    private String nodeId = "local";
+    private String resumeTokenCollection = "person_cache_resume";
+    private Duration resumeTokenInterval = Duration.ofSeconds(1);
+    private Duration minBackoff = Duration.ofMillis(500);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getResumeTokenCollection() {
+        return resumeTokenCollection;
+    }
+
+    public void setResumeTokenCollection(String resumeTokenCollection) {
+        this.resumeTokenCollection = resumeTokenCollection;
+    }
+
+    public Duration getResumeTokenInterval() {
+        return resumeTokenInterval;
+    }
+
+    public void setResumeTokenInterval(Duration resumeTokenInterval) {
+        this.resumeTokenInterval = resumeTokenInterval;
+    }
+
+    public Duration getMinBackoff() {
+        return minBackoff;
+    }
+
+    public void setMinBackoff(Duration minBackoff) {
+        this.minBackoff = minBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+}
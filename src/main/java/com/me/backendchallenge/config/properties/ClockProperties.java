@@ -0,0 +1,35 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.clock")
+public class ClockProperties {
+
+    public enum Mode {
+        SYSTEM, CACHED
+    }
+
+    /**
+     * SYSTEM consulta o relógio a cada registro; CACHED reaproveita o horário atualizado a cada resolution.
+     */
+    private Mode mode = Mode.SYSTEM;
+    private Duration resolution = Duration.ofMillis(10);
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Duration getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Duration resolution) {
+        this.resolution = resolution;
+    }
+}
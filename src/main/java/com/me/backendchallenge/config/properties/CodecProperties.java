@@ -0,0 +1,22 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "person.codec")
+public class CodecProperties {
+
+    /**
+     * Tamanho máximo de um corpo CBOR/Smile mantido em memória para ser deserializado. Corpos maiores são
+     * rejeitados com 413.
+     */
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(10);
+
+    public DataSize getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(DataSize maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
+}
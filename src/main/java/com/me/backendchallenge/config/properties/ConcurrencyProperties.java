@@ -0,0 +1,148 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.concurrency")
+public class ConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Valor do Retry-After das requisições recusadas por excesso de concorrência.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Rotas de uma pessoa por vez: busca, cadastro, alteração e inativação.
+     */
+    private final Limit interactive = new Limit(20, 5, 200, Duration.ofSeconds(5));
+
+    /**
+     * Rotas de lote: cadastro de várias pessoas, exportação e sincronização.
+     */
+    private final Limit bulk = new Limit(4, 1, 16, Duration.ofMinutes(10));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Limit getInteractive() {
+        return interactive;
+    }
+
+    public Limit getBulk() {
+        return bulk;
+    }
+
+    public static class Limit {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        /**
+         * Quanto a latência pode subir em relação à média antes de o limite ser reduzido.
+         */
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+
+        /**
+         * Fator aplicado ao limite a cada erro do servidor ou resposta acima de maxLatency.
+         */
+        private double backoffRatio = 0.9;
+        private Duration maxLatency;
+
+        /**
+         * Quantidade de amostras da média de longo prazo da latência.
+         */
+        private int window = 600;
+
+        public Limit() {
+        }
+
+        Limit(int initialLimit, int minLimit, int maxLimit, Duration maxLatency) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.maxLatency = maxLatency;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public Duration getMaxLatency() {
+            return maxLatency;
+        }
+
+        public void setMaxLatency(Duration maxLatency) {
+            this.maxLatency = maxLatency;
+        }
+
+        public int getWindow() {
+            return window;
+        }
+
+        public void setWindow(int window) {
+            this.window = window;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "person.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Tempo máximo das rotas sem valor em routes. O header X-Request-Timeout só pode reduzi-lo.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Tempo máximo por rota, pelo nome da métrica (find, export, saveMany...).
+     */
+    private Map<String, Duration> routes = new HashMap<>(Map.of(
+            "find", Duration.ofSeconds(30),
+            "export", Duration.ofMinutes(10),
+            "delta", Duration.ofMinutes(10),
+            "saveMany", Duration.ofMinutes(10)));
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Map<String, Duration> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Duration> routes) {
+        this.routes = routes;
+    }
+}
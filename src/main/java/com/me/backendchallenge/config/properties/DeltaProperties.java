@@ -0,0 +1,23 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.delta")
+public class DeltaProperties {
+
+    /**
+     * Intervalo antes de since relido a cada rodada da sincronização. Deve cobrir a diferença entre os relógios
+     * das instâncias, o tempo da escrita mais longa e o atraso máximo das leituras (person.mongo.reads.max-staleness).
+     */
+    private Duration overlap = Duration.ofMinutes(2);
+
+    public Duration getOverlap() {
+        return overlap;
+    }
+
+    public void setOverlap(Duration overlap) {
+        this.overlap = overlap;
+    }
+}
@@ -0,0 +1,20 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "person.export")
+public class ExportProperties {
+
+    /**
+     * Quantidade de documentos por bloco escrito na resposta (e por lote do cursor do MongoDB).
+     */
+    private int chunkSize = 500;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
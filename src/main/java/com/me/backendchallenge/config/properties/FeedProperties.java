@@ -0,0 +1,48 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.feed")
+public class FeedProperties {
+
+    public enum Overflow {
+        DROP_OLDEST, DROP_LATEST, DISCONNECT
+    }
+
+    /**
+     * Eventos pendentes por assinante antes de aplicar a política de overflow.
+     */
+    private int bufferSize = 256;
+    private Overflow overflow = Overflow.DROP_OLDEST;
+
+    /**
+     * Intervalo dos comentários enviados para manter a conexão aberta em proxies e load balancers.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    public void setOverflow(Overflow overflow) {
+        this.overflow = overflow;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+}
@@ -0,0 +1,24 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "person.id")
+public class IdProperties {
+
+    public enum Strategy {
+        UUID_V7, OBJECT_ID, RANDOM_UUID
+    }
+
+    /**
+     * Estratégia de geração dos ids das novas pessoas.
+     */
+    private Strategy strategy = Strategy.UUID_V7;
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+}
@@ -0,0 +1,73 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Quantidade de pessoas mantidas no LRU local, somando as respostas de todas as chaves: cada resposta pesa o
+     * número de pessoas do seu lote.
+     */
+    private long maximumWeight = 100_000;
+
+    /**
+     * Tamanho máximo de um lote enviado com Idempotency-Key. Esse lote é lido por inteiro antes de ser gravado,
+     * então os maiores são recusados.
+     */
+    private int maxBatchSize = 1_000;
+
+    /**
+     * Tempo durante o qual uma Idempotency-Key é reconhecida, no LRU local e no índice TTL da coleção.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Grava as respostas também no MongoDB, para reconhecer repetições que chegam em outra instância ou depois
+     * de um restart.
+     */
+    private boolean persistent = false;
+    private String collection = "person_idempotency";
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+}
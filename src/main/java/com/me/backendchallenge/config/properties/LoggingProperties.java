@@ -0,0 +1,33 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "person.logging")
+public class LoggingProperties {
+
+    /**
+     * Fração (0 a 1) das requisições de busca/exportação que terão log.
+     */
+    private double sampleRate = 1;
+
+    /**
+     * Tamanho da fila do appender assíncrono.
+     */
+    private int queueSize = 8192;
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+}
@@ -0,0 +1,194 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "person.mongo")
+public class PersonMongoProperties {
+
+    public enum Compressor {
+        SNAPPY, ZLIB
+    }
+
+    private final Pool pool = new Pool();
+    private final Reads reads = new Reads();
+
+    /**
+     * Pool do MongoClient usado pela importação em lote, exportação e sincronização, separado do pool das rotas de
+     * uma pessoa só. A espera por conexão é maior, pois as rotas de lote toleram mais latência.
+     */
+    private final Pool bulkPool = new Pool(20, 0, 500, Duration.ofSeconds(30));
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Zero desativa o timeout de leitura do socket (padrão do driver).
+     */
+    private Duration readTimeout = Duration.ZERO;
+
+    /**
+     * Compressores oferecidos ao servidor, em ordem de preferência.
+     */
+    private List<Compressor> compressors = new ArrayList<>(List.of(Compressor.SNAPPY, Compressor.ZLIB));
+
+    /**
+     * Nome de um ReadPreference do driver (primary, primaryPreferred, secondaryPreferred...).
+     */
+    private String readPreference = "primary";
+
+    /**
+     * Nome de um WriteConcern do driver (acknowledged, w1, majority, journaled...).
+     */
+    private String writeConcern = "acknowledged";
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Reads getReads() {
+        return reads;
+    }
+
+    public Pool getBulkPool() {
+        return bulkPool;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public List<Compressor> getCompressors() {
+        return compressors;
+    }
+
+    public void setCompressors(List<Compressor> compressors) {
+        this.compressors = compressors;
+    }
+
+    public String getReadPreference() {
+        return readPreference;
+    }
+
+    public void setReadPreference(String readPreference) {
+        this.readPreference = readPreference;
+    }
+
+    public String getWriteConcern() {
+        return writeConcern;
+    }
+
+    public void setWriteConcern(String writeConcern) {
+        this.writeConcern = writeConcern;
+    }
+
+    /**
+     * ReadPreference das rotas de leitura (listagem, busca, exportação e delta). O padrão é o primary, para que um
+     * GET logo depois de um POST ou PUT enxergue a escrita; ler de secundários (secondaryPreferred) é uma opção
+     * para quando essas rotas aceitarem dados atrasados. As leituras de validação do cadastro e da alteração ficam
+     * sempre no primary.
+     */
+    public static class Reads {
+
+        private String readPreference = "primary";
+
+        /**
+         * Atraso máximo aceito de um secundário em relação ao primary (mínimo de 90s), ignorado no primary. Vazio
+         * não limita.
+         */
+        private Duration maxStaleness = Duration.ofSeconds(90);
+
+        public String getReadPreference() {
+            return readPreference;
+        }
+
+        public void setReadPreference(String readPreference) {
+            this.readPreference = readPreference;
+        }
+
+        public Duration getMaxStaleness() {
+            return maxStaleness;
+        }
+
+        public void setMaxStaleness(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness;
+        }
+    }
+
+    public static class Pool {
+
+        private int maxSize = 100;
+        private int minSize = 10;
+
+        /**
+         * Requisições aguardando conexão além deste limite falham imediatamente.
+         */
+        private int maxWaitQueueSize = 500;
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(1);
+
+        public Pool() {
+        }
+
+        private Pool(int maxSize, int minSize, int maxWaitQueueSize, Duration maxWaitTime) {
+            this.maxSize = maxSize;
+            this.minSize = minSize;
+            this.maxWaitQueueSize = maxWaitQueueSize;
+            this.maxWaitTime = maxWaitTime;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public int getMaxWaitQueueSize() {
+            return maxWaitQueueSize;
+        }
+
+        public void setMaxWaitQueueSize(int maxWaitQueueSize) {
+            this.maxWaitQueueSize = maxWaitQueueSize;
+        }
+
+        public Duration getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        public void setMaxWaitTime(Duration maxWaitTime) {
+            this.maxWaitTime = maxWaitTime;
+        }
+
+        public Duration getMaxConnectionIdleTime() {
+            return maxConnectionIdleTime;
+        }
+
+        public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime) {
+            this.maxConnectionIdleTime = maxConnectionIdleTime;
+        }
+    }
+}
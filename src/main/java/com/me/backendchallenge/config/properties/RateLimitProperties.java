@@ -0,0 +1,140 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "person.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Header que identifica o cliente. Sem ele, ou com uma chave fora de apiKeys, o cliente é identificado pelo IP.
+     */
+    private String clientHeader = "X-Api-Key";
+
+    /**
+     * API keys reconhecidas, cada uma com o seu próprio balde.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /**
+     * Usa o primeiro IP do X-Forwarded-For; só deve ser habilitado atrás de um proxy que sobrescreva o header.
+     */
+    private boolean trustForwardedFor = false;
+
+    /**
+     * Tokens repostos por segundo e tamanho do balde (rajada máxima) de cada cliente.
+     */
+    private double tokensPerSecond = 50;
+    private int capacity = 100;
+
+    /**
+     * Custo de cada rota pelo nome da métrica (find, findAll, export...). As rotas ausentes custam 1 e no saveMany
+     * cada pessoa do lote custa mais 1.
+     */
+    private Map<String, Integer> costs = new HashMap<>(Map.of("findAll", 20, "export", 50, "delta", 10));
+
+    private int stripes = 16;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Máximo de baldes em memória. Acima dele, os clientes novos dividem um balde de overflow até a limpeza dos
+     * ociosos.
+     */
+    private int maxClients = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Map<String, Integer> getCosts() {
+        return costs;
+    }
+
+    public void setCosts(Map<String, Integer> costs) {
+        this.costs = costs;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+}
@@ -0,0 +1,123 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.resilience")
+public class ResilienceProperties {
+
+    private boolean enabled = true;
+    private final Retry retry = new Retry();
+    private final Breaker breaker = new Breaker();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public Breaker getBreaker() {
+        return breaker;
+    }
+
+    public static class Retry {
+
+        /**
+         * Novas tentativas depois da primeira, só nas leituras e nas escritas idempotentes (upsert pelo _id).
+         */
+        private int maxRetries = 2;
+
+        /**
+         * A espera de cada tentativa é sorteada entre zero e minBackoff * 2^tentativa, limitada a maxBackoff.
+         */
+        private Duration minBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getMinBackoff() {
+            return minBackoff;
+        }
+
+        public void setMinBackoff(Duration minBackoff) {
+            this.minBackoff = minBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    public static class Breaker {
+
+        /**
+         * Taxa de falhas (0 a 1) da janela que abre o circuito, desde que ela tenha ao menos minimumCalls chamadas.
+         */
+        private double failureRateThreshold = 0.5;
+        private int minimumCalls = 20;
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * Tempo em que o circuito fica aberto antes de liberar as halfOpenCalls chamadas de teste.
+         */
+        private Duration openDuration = Duration.ofSeconds(5);
+        private int halfOpenCalls = 5;
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.stream")
+public class StreamProperties {
+
+    /**
+     * Quantidade máxima de pessoas agrupadas em um único bloco das respostas em stream.
+     */
+    private int chunkSize = 100;
+
+    /**
+     * Tempo máximo que um bloco incompleto aguarda antes de ser enviado.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
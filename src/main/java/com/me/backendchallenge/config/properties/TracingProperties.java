@@ -0,0 +1,33 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "person.tracing")
+public class TracingProperties {
+
+    /**
+     * Habilita os histogramas por etapa dos pipelines de criação/alteração.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fração (0 a 1) das execuções que terão o trace completo registrado no log.
+     */
+    private double sampleRate = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,105 @@
+package com.me.backendchallenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "person.writes")
+public class WritesProperties {
+
+    private final Durability create = new Durability("1", null);
+    private final Durability update = new Durability("majority", null);
+    private final Durability inactivate = new Durability("majority", null);
+    private final Durability bulk = new Durability("1", false);
+
+    /**
+     * Usado na verificação ao fim da importação em lote para regravar o que faltou e garantir a durabilidade do
+     * lote inteiro.
+     */
+    private final Durability verify = new Durability("majority", null);
+    private boolean verifyBulk = true;
+
+    /**
+     * Quantidade de pessoas conferidas por consulta na verificação do lote.
+     */
+    private int verifyChunkSize = 500;
+
+    public Durability getCreate() {
+        return create;
+    }
+
+    public Durability getUpdate() {
+        return update;
+    }
+
+    public Durability getInactivate() {
+        return inactivate;
+    }
+
+    public Durability getBulk() {
+        return bulk;
+    }
+
+    public Durability getVerify() {
+        return verify;
+    }
+
+    public boolean isVerifyBulk() {
+        return verifyBulk;
+    }
+
+    public void setVerifyBulk(boolean verifyBulk) {
+        this.verifyBulk = verifyBulk;
+    }
+
+    public int getVerifyChunkSize() {
+        return verifyChunkSize;
+    }
+
+    public void setVerifyChunkSize(int verifyChunkSize) {
+        this.verifyChunkSize = verifyChunkSize;
+    }
+
+    public static class Durability {
+
+        /**
+         * Quantidade de membros que confirmam a escrita ou "majority".
+         */
+        private String w;
+
+        /**
+         * Vazio mantém o padrão do servidor.
+         */
+        private Boolean journal;
+        private Duration timeout;
+
+        public Durability(String w, Boolean journal) {
+            this.w = w;
+            this.journal = journal;
+        }
+
+        public String getW() {
+            return w;
+        }
+
+        public void setW(String w) {
+            this.w = w;
+        }
+
+        public Boolean getJournal() {
+            return journal;
+        }
+
+        public void setJournal(Boolean journal) {
+            this.journal = journal;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
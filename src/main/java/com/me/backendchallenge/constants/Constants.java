@@ -1,11 +1,22 @@
 package com.me.backendchallenge.constants;
 
+import org.springframework.http.MediaType;
+
 public class Constants {
 
     //path
     public static final String PATH = "/api/v1";
     public static final String PERSON_PATH = String.format("%s/person", PATH);
 
+    //headers
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REQUEST_TIMEOUT = "X-Request-Timeout";
+
+    //media types
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
     //Validações
     public static final String NAME_IS_BLANK = "O campo nome não pode ser vázio.";
     public static final String LAST_NAME_IS_BLANK = "O campo sobrenome não pode ser vázio.";
@@ -19,6 +30,20 @@ public class Constants {
     public static final String INVALID_EMAIL = "O e-mail %s informado é inválido.";
     public static final String ID_IS_BLANK = "O campo id não pode ser vázio.";
     public static final String INVALID_PHONE = "O telefone/celular %s informado é inválido.";
+    public static final String INVALID_FIELD = "O campo %s informado não existe.";
+    public static final String SINCE_IS_BLANK = "O parâmetro since não pode ser vázio.";
+    public static final String INVALID_SINCE = "A data %s informada é inválida.";
+    public static final String INVALID_LIMIT = "O limite %s informado é inválido.";
+    public static final String INVALID_IDEMPOTENCY_KEY = "A Idempotency-Key %s informada é inválida.";
+    public static final String IDEMPOTENCY_KEY_REUSED = "A Idempotency-Key %s já foi usada com outro conteúdo.";
+    public static final String IDEMPOTENT_BATCH_TOO_LARGE = "O lote enviado com Idempotency-Key deve ter no máximo %s pessoas.";
+    public static final String BODY_TOO_LARGE = "O corpo da requisição deve ter no máximo %s bytes.";
+    public static final String SERVICE_OVERLOADED = "Serviço sobrecarregado, tente novamente em instantes.";
+    public static final String RATE_LIMIT_EXCEEDED = "Limite de requisições excedido, tente novamente em %s segundos.";
+    public static final String INVALID_REQUEST_TIMEOUT = "O timeout %s informado é inválido.";
+    public static final String DEADLINE_EXCEEDED = "O tempo limite da requisição foi atingido.";
+    public static final String DATABASE_UNAVAILABLE = "Banco de dados indisponível, tente novamente em instantes.";
+    public static final String INVALID_OVERFLOW = "A política de overflow %s informada não existe.";
 
     public static String createErrorMessage(final String value, final String message) {
         return String.format(message, value);
@@ -0,0 +1,107 @@
+package com.me.backendchallenge.deadline;
+
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.exceptions.GatewayTimeoutException;
+import com.mongodb.MongoExecutionTimeoutException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Instante limite de uma requisição, levado no Context do Reactor até o repositório. Cada consulta recebe o tempo
+ * restante como maxTimeMS, para que o MongoDB pare de executá-la quando o cliente já desistiu, e um timeout do lado da
+ * aplicação, que cancela o cursor quando o tempo acaba.
+ */
+public final class Deadline {
+
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Optional<Deadline> from(Context context) {
+        return context.getOrEmpty(Deadline.class);
+    }
+
+    public Context in(Context context) {
+        return context.put(Deadline.class, this);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Executa a consulta com o maxTimeMS do deadline do Context (null quando não houver) e a encerra com erro se o
+     * tempo acabar antes do fim do stream.
+     */
+    public static <T> Flux<T> bounded(Function<Long, Flux<T>> query) {
+        return Mono.subscriberContext().flatMapMany(context -> from(context)
+                .map(deadline -> deadline.isExpired() ?
+                        Flux.<T>error(exceeded(null)) :
+                        deadline.bound(query.apply(deadline.maxTimeMillis())))
+                .orElseGet(() -> query.apply(null)));
+    }
+
+    public static <T> Mono<T> boundedMono(Function<Long, Mono<T>> query) {
+        return Mono.subscriberContext().flatMap(context -> from(context)
+                .map(deadline -> deadline.isExpired() ?
+                        Mono.<T>error(exceeded(null)) :
+                        query.apply(deadline.maxTimeMillis())
+                                .timeout(deadline.remaining())
+                                .onErrorMap(Deadline::isTimeout, Deadline::exceeded))
+                .orElseGet(() -> query.apply(null)));
+    }
+
+    /**
+     * Aplica o deadline do Context a um resultado consultado sem ele, como a busca compartilhada do
+     * {@link com.me.backendchallenge.util.SingleFlight}: o chamador recebe 504 quando o seu tempo acaba, sem
+     * interromper a consulta dos demais.
+     */
+    public static <T> Mono<T> await(Mono<T> source) {
+        return Mono.subscriberContext().flatMap(context -> from(context)
+                .map(deadline -> deadline.isExpired() ?
+                        Mono.<T>error(exceeded(null)) :
+                        source.timeout(deadline.remaining())
+                                .onErrorMap(Deadline::isTimeout, Deadline::exceeded))
+                .orElse(source));
+    }
+
+    private <T> Flux<T> bound(Flux<T> source) {
+        return Flux.defer(() -> {
+            var expired = new AtomicBoolean();
+            var timer = Mono.delay(remaining()).doOnNext($ -> expired.set(true));
+
+            return source.takeUntilOther(timer)
+                    .concatWith(Mono.defer(() -> expired.get() ? Mono.error(exceeded(null)) : Mono.empty()))
+                    .onErrorMap(Deadline::isTimeout, Deadline::exceeded);
+        });
+    }
+
+    private long maxTimeMillis() {
+        return Math.max(1, remaining().toMillis());
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        return error instanceof TimeoutException || error instanceof MongoExecutionTimeoutException;
+    }
+
+    private static GatewayTimeoutException exceeded(Throwable cause) {
+        return new GatewayTimeoutException(Constants.DEADLINE_EXCEEDED, cause);
+    }
+}
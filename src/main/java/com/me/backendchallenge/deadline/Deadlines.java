@@ -0,0 +1,73 @@
+package com.me.backendchallenge.deadline;
+
+import com.me.backendchallenge.config.properties.DeadlineProperties;
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Define o deadline de cada requisição: o timeout da rota em person.deadline.routes (ou o padrão), reduzido pelo
+ * header X-Request-Timeout (em milissegundos) quando o cliente pedir menos tempo.
+ * <p>
+ * O corpo das rotas em stream é lido depois que o handler termina, fora do Context dele; por isso o handler repassa
+ * o deadline ao corpo com {@link #bind(ServerRequest, Flux)}.
+ */
+@Component
+public class Deadlines {
+
+    private static final String DEADLINE_ATTRIBUTE = Deadlines.class.getName() + ".deadline";
+
+    private final DeadlineProperties properties;
+
+    @Autowired
+    public Deadlines(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    public HandlerFunction<ServerResponse> apply(String route, HandlerFunction<ServerResponse> handler) {
+        return request -> {
+            var deadline = Deadline.after(timeout(route, request));
+            request.attributes().put(DEADLINE_ATTRIBUTE, deadline);
+
+            return handler.handle(request).subscriberContext(deadline::in);
+        };
+    }
+
+    public static <T> Flux<T> bind(ServerRequest request, Flux<T> body) {
+        return request.attribute(DEADLINE_ATTRIBUTE)
+                .map(Deadline.class::cast)
+                .map(deadline -> body.subscriberContext(deadline::in))
+                .orElse(body);
+    }
+
+    private Duration timeout(String route, ServerRequest request) {
+        var timeout = properties.getRoutes().getOrDefault(route, properties.getTimeout());
+
+        return request.headers().header(Constants.REQUEST_TIMEOUT).stream()
+                .findFirst()
+                .map(Deadlines::parse)
+                .filter(requested -> requested.compareTo(timeout) < 0)
+                .orElse(timeout);
+    }
+
+    private static Duration parse(String timeout) {
+        try {
+            var millis = Long.parseLong(timeout.trim());
+
+            if (millis <= 0) {
+                throw new BadRequestException(Constants.createErrorMessage(timeout, Constants.INVALID_REQUEST_TIMEOUT));
+            }
+
+            return Duration.ofMillis(millis);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(Constants.createErrorMessage(timeout, Constants.INVALID_REQUEST_TIMEOUT));
+        }
+    }
+}
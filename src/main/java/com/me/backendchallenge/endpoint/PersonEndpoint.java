@@ -1,36 +1,66 @@
 package com.me.backendchallenge.endpoint;
 
+import com.me.backendchallenge.deadline.Deadlines;
 import com.me.backendchallenge.handler.PersonHandler;
+import com.me.backendchallenge.limit.ConcurrencyLimits;
+import com.me.backendchallenge.limit.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.me.backendchallenge.constants.Constants.APPLICATION_CBOR;
+import static com.me.backendchallenge.constants.Constants.APPLICATION_SMILE;
 import static com.me.backendchallenge.constants.Constants.PATH;
 import static com.me.backendchallenge.constants.Constants.PERSON_PATH;
+import static com.me.backendchallenge.metrics.RouteMetricsWebFilter.route;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Configuration
 public class PersonEndpoint {
 
+    private final ConcurrencyLimits limits;
+    private final RateLimiter rateLimiter;
+    private final Deadlines deadlines;
+
+    @Autowired
+    public PersonEndpoint(ConcurrencyLimits limits, RateLimiter rateLimiter, Deadlines deadlines) {
+        this.limits = limits;
+        this.rateLimiter = rateLimiter;
+        this.deadlines = deadlines;
+    }
+
     @Bean
     RouterFunction<ServerResponse> routes(PersonHandler handler) {
         return route()
                 .path(PERSON_PATH, builder -> builder
-                        .GET("", handler::find)
+                        .GET("", interactive("find", handler::find))
+                        .GET("/export", bulk("export", handler::export))
+                        .GET("/changes", route("changes", rateLimiter.limit("changes", handler::changes)))
+                        .GET("/delta", bulk("delta", handler::delta))
 
-                        .nest(accept(MediaType.APPLICATION_JSON), b2 -> b2
-                                .POST("", handler::save)
-                                .PUT("", handler::update))
+                        .nest(accept(MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE), b2 -> b2
+                                .POST("", interactive("save", handler::save))
+                                .PUT("", interactive("update", handler::update)))
 
-                        .DELETE("/{id}", handler::inactivate))
+                        .DELETE("/{id}", interactive("inactivate", handler::inactivate)))
 
                 .path(PATH + "/persons", builder -> builder
-                        .nest(accept(MediaType.APPLICATION_JSON), b2 -> b2
-                                .POST("", handler::saveManyPersons)))
+                        .nest(accept(MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE), b2 -> b2
+                                .POST("", bulk("saveMany", handler::saveManyPersons))))
 
                 .build();
     }
+
+    private HandlerFunction<ServerResponse> interactive(String name, HandlerFunction<ServerResponse> handler) {
+        return route(name, rateLimiter.limit(name, limits.interactive(deadlines.apply(name, handler))));
+    }
+
+    private HandlerFunction<ServerResponse> bulk(String name, HandlerFunction<ServerResponse> handler) {
+        return route(name, rateLimiter.limit(name, limits.bulk(deadlines.apply(name, handler))));
+    }
 }
@@ -0,0 +1,12 @@
+package com.me.backendchallenge.endpoint.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resposta das buscas com fields=: só os campos projetados são serializados. As demais rotas continuam com
+ * {@link PersonResponse}, que mantém os campos nulos no JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PersonProjectionResponse extends PersonResponse {
+
+}
@@ -0,0 +1,14 @@
+package com.me.backendchallenge.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class GatewayTimeoutException extends ApplicationException {
+
+    public GatewayTimeoutException(String description) {
+        super(HttpStatus.GATEWAY_TIMEOUT.value(), "tempo_esgotado", description);
+    }
+
+    public GatewayTimeoutException(String description, Throwable cause) {
+        super(HttpStatus.GATEWAY_TIMEOUT.value(), "tempo_esgotado", description, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.me.backendchallenge.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class PayloadTooLargeException extends ApplicationException {
+
+    public PayloadTooLargeException(String description) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE.value(), "entrada_muito_grande", description);
+    }
+
+    public PayloadTooLargeException(String description, Throwable cause) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE.value(), "entrada_muito_grande", description, cause);
+    }
+}
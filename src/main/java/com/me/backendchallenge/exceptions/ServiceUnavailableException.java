@@ -0,0 +1,14 @@
+package com.me.backendchallenge.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends ApplicationException {
+
+    public ServiceUnavailableException(String description) {
+        super(HttpStatus.SERVICE_UNAVAILABLE.value(), "servico_indisponivel", description);
+    }
+
+    public ServiceUnavailableException(String description, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE.value(), "servico_indisponivel", description, cause);
+    }
+}
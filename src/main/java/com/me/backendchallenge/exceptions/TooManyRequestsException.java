@@ -0,0 +1,14 @@
+package com.me.backendchallenge.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends ApplicationException {
+
+    public TooManyRequestsException(String description) {
+        super(HttpStatus.TOO_MANY_REQUESTS.value(), "limite_excedido", description);
+    }
+
+    public TooManyRequestsException(String description, Throwable cause) {
+        super(HttpStatus.TOO_MANY_REQUESTS.value(), "limite_excedido", description, cause);
+    }
+}
@@ -1,15 +1,20 @@
 package com.me.backendchallenge.exceptions.handler;
 
 import com.me.backendchallenge.exceptions.ApplicationException;
+import com.me.backendchallenge.exceptions.BadRequestException;
 import com.me.backendchallenge.exceptions.InternalServerErrorException;
+import com.me.backendchallenge.exceptions.NotFoundException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebExceptionHandler;
 import reactor.core.publisher.Mono;
@@ -27,6 +32,8 @@ import reactor.core.publisher.Mono;
 @Order(-2)
 public class ExceptionHandler implements WebExceptionHandler {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ExceptionHandler.class);
+
     private final ObjectMapper mapper;
     private final DataBufferFactory dataBufferFactory;
     private final InternalServerErrorException errorException;
@@ -49,8 +56,12 @@ public class ExceptionHandler implements WebExceptionHandler {
             return exchange.getResponse().writeWith(body);
         };
 
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(ex);
+        }
+
         try {
-            return Mono.from(parser.parse((ApplicationException) ex)); //TODO ajustar exception genericas.
+            return Mono.from(parser.parse(toApplicationException(ex)));
 
         } catch (JsonProcessingException e) {
             exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -58,4 +69,30 @@ public class ExceptionHandler implements WebExceptionHandler {
 
         }
     }
+
+    private ApplicationException toApplicationException(Throwable ex) {
+        if (ex instanceof ApplicationException) {
+            return (ApplicationException) ex;
+        }
+
+        if (ex instanceof ResponseStatusException) {
+            var status = ((ResponseStatusException) ex).getStatus();
+            var reason = ((ResponseStatusException) ex).getReason();
+
+            if (status == HttpStatus.BAD_REQUEST) {
+                return new BadRequestException(reason, ex);
+            }
+
+            if (status == HttpStatus.NOT_FOUND) {
+                return new NotFoundException(reason, ex);
+            }
+
+            if (status.is4xxClientError()) {
+                return new ApplicationException(status.value(), status.name().toLowerCase(), reason, ex);
+            }
+        }
+
+        LOG.error("Erro não tratado", ex);
+        return errorException;
+    }
 }
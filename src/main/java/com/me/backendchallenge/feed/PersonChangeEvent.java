@@ -0,0 +1,39 @@
+package com.me.backendchallenge.feed;
+
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PersonChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, INACTIVATED,
+
+        /**
+         * Último evento enviado a um assinante desconectado por não acompanhar o ritmo das alterações.
+         */
+        LAGGED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final PersonResponse person;
+
+    public PersonChangeEvent(long sequence, Type type, PersonResponse person) {
+        this.sequence = sequence;
+        this.type = type;
+        this.person = person;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public PersonResponse getPerson() {
+        return person;
+    }
+}
@@ -0,0 +1,69 @@
+package com.me.backendchallenge.feed;
+
+import com.me.backendchallenge.config.properties.FeedProperties;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.me.backendchallenge.model.Person;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribui as alterações de person feitas pelo service aos assinantes do feed. Cada assinante tem o seu próprio
+ * buffer limitado, então um consumidor lento não atrasa os demais nem quem está gravando: quando o buffer enche, a
+ * política de overflow descarta o evento mais antigo, o mais novo ou desconecta o assinante com um evento LAGGED.
+ */
+@Component
+public class PersonChangeFeed {
+
+    private final DirectProcessor<PersonChangeEvent> processor = DirectProcessor.create();
+    private final FluxSink<PersonChangeEvent> sink = processor.sink();
+    private final AtomicLong sequence = new AtomicLong();
+    private final FeedProperties properties;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public PersonChangeFeed(FeedProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+
+        Gauge.builder("person.feed.subscribers", processor, DirectProcessor::downstreamCount)
+                .description("Assinantes conectados ao feed de alterações")
+                .register(registry);
+    }
+
+    public void publish(PersonChangeEvent.Type type, Person person) {
+        if (processor.hasDownstreams()) {
+            sink.next(new PersonChangeEvent(sequence.incrementAndGet(), type, new PersonResponse(person)));
+        }
+    }
+
+    public Flux<PersonChangeEvent> subscribe() {
+        return subscribe(properties.getOverflow());
+    }
+
+    public Flux<PersonChangeEvent> subscribe(FeedProperties.Overflow overflow) {
+        var dropped = registry.counter("person.feed.dropped", "overflow", overflow.name().toLowerCase());
+
+        switch (overflow) {
+            case DROP_LATEST:
+                return processor.onBackpressureBuffer(properties.getBufferSize(), $ -> dropped.increment(),
+                        BufferOverflowStrategy.DROP_LATEST);
+            case DISCONNECT:
+                return processor.onBackpressureBuffer(properties.getBufferSize(), $ -> dropped.increment(),
+                        BufferOverflowStrategy.ERROR)
+                        .onErrorResume(Exceptions::isOverflow, $ -> Flux.just(
+                                new PersonChangeEvent(sequence.get(), PersonChangeEvent.Type.LAGGED, null)));
+            default:
+                return processor.onBackpressureBuffer(properties.getBufferSize(), $ -> dropped.increment(),
+                        BufferOverflowStrategy.DROP_OLDEST);
+        }
+    }
+}
@@ -1,20 +1,54 @@
 package com.me.backendchallenge.handler;
 
+import com.me.backendchallenge.config.properties.DeltaProperties;
+import com.me.backendchallenge.config.properties.ExportProperties;
+import com.me.backendchallenge.config.properties.FeedProperties;
+import com.me.backendchallenge.config.properties.IdempotencyProperties;
+import com.me.backendchallenge.config.properties.StreamProperties;
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.deadline.Deadlines;
 import com.me.backendchallenge.endpoint.request.PersonRequest;
 import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
+import com.me.backendchallenge.endpoint.response.PersonProjectionResponse;
 import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.me.backendchallenge.exceptions.BadRequestException;
+import com.me.backendchallenge.exceptions.PayloadTooLargeException;
+import com.me.backendchallenge.feed.PersonChangeEvent;
+import com.me.backendchallenge.feed.PersonChangeFeed;
+import com.me.backendchallenge.idempotency.IdempotencyStore;
+import com.me.backendchallenge.limit.RateLimiter;
 import com.me.backendchallenge.service.PersonService;
+import com.me.backendchallenge.util.LogSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.me.backendchallenge.constants.Constants.APPLICATION_CBOR;
+import static com.me.backendchallenge.constants.Constants.APPLICATION_NDJSON;
+import static com.me.backendchallenge.constants.Constants.APPLICATION_SMILE;
+import static com.me.backendchallenge.util.NdjsonUtil.toNdjson;
 import static org.springframework.web.reactive.function.server.ServerResponse.*;
 
 @Component
@@ -22,71 +56,279 @@ public class PersonHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(PersonHandler.class);
 
+    private static final List<MediaType> BINARY_MEDIA_TYPES = List.of(APPLICATION_CBOR, APPLICATION_SMILE);
+
     private final PersonService service;
+    private final DataBufferFactory dataBufferFactory;
+    private final ObjectWriter writer;
+    private final ObjectWriter projectionWriter;
+    private final ExportProperties export;
+    private final StreamProperties stream;
+    private final DeltaProperties delta;
+    private final FeedProperties feedProperties;
+    private final IdempotencyProperties idempotencyProperties;
+    private final LogSampler sampler;
+    private final PersonChangeFeed feed;
+    private final IdempotencyStore idempotency;
+    private final RateLimiter rateLimiter;
 
     @Autowired
-    public PersonHandler(PersonService service) {
+    public PersonHandler(PersonService service, DataBufferFactory dataBufferFactory, ObjectMapper mapper,
+                         ExportProperties export, StreamProperties stream, DeltaProperties delta,
+                         FeedProperties feedProperties, IdempotencyProperties idempotencyProperties,
+                         LogSampler sampler, PersonChangeFeed feed, IdempotencyStore idempotency,
+                         RateLimiter rateLimiter) {
         this.service = service;
+        this.dataBufferFactory = dataBufferFactory;
+        this.writer = mapper.writerFor(PersonResponse.class);
+        this.projectionWriter = mapper.writerFor(PersonProjectionResponse.class);
+        this.export = export;
+        this.stream = stream;
+        this.delta = delta;
+        this.feedProperties = feedProperties;
+        this.idempotencyProperties = idempotencyProperties;
+        this.sampler = sampler;
+        this.feed = feed;
+        this.idempotency = idempotency;
+        this.rateLimiter = rateLimiter;
     }
 
     public Mono<ServerResponse> find(ServerRequest request) {
-        var params = request.queryParams().toSingleValueMap();
+        var params = new HashMap<>(request.queryParams().toSingleValueMap());
+        var fields = parseFields(params.remove("fields"));
 
         if (params.isEmpty()) {
-            LOG.info("Solicitação para buscar todos os persons recebida.");
+            if (sampler.sample()) {
+                LOG.info("Solicitação para buscar todos os persons recebida.");
+            }
 
-            return ok().contentType(MediaType.APPLICATION_STREAM_JSON)
-                    .body(service.listPersons().map(PersonResponse::new), PersonResponse.class);
+            return stream(request, service.listPersons(fields), writer(fields));
         }
 
         var name = request.queryParam("name").orElse("");
         var lastName = request.queryParam("lastName").orElse("");
         var document = request.queryParam("document").orElse("0");
 
-        LOG.info("Solicitação para buscar person com o name [{}], lastName [{}] e document [{}]",
-                name, lastName, document);
+        if (sampler.sample()) {
+            LOG.info("Solicitação para buscar person com o name [{}], lastName [{}] e document [{}]",
+                    name, lastName, document);
+        }
+
+        return stream(request, service.findUser(name, lastName, document, fields), writer(fields));
+    }
+
+    public Mono<ServerResponse> export(ServerRequest request) {
+        if (sampler.sample()) {
+            LOG.info("Solicitação para exportar todos os persons recebida.");
+        }
+
+        var chunkSize = export.getChunkSize();
+        var body = toNdjson(Deadlines.bind(request, service.exportPersons(chunkSize)), dataBufferFactory, chunkSize);
+
+        return ok().contentType(APPLICATION_NDJSON)
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+
+    /**
+     * Pessoas alteradas depois de since, ordenadas por updatedAt e id. Para retomar uma sincronização interrompida,
+     * o cliente repete a chamada com o updatedAt e o id da última pessoa recebida em since e after.
+     * <p>
+     * O updatedAt é atribuído pela aplicação antes da escrita, então uma pessoa pode ficar visível depois de outras
+     * com updatedAt maior. Por isso cada rodada (chamada sem after) começa em since menos person.delta.overlap:
+     * toda escrita visível até overlap depois do seu updatedAt é entregue, e as pessoas já recebidas podem vir de novo,
+     * devendo ser aplicadas pelo id.
+     */
+    public Mono<ServerResponse> delta(ServerRequest request) {
+        var since = request.queryParam("since")
+                .map(PersonHandler::parseSince)
+                .orElseThrow(() -> new BadRequestException(Constants.SINCE_IS_BLANK));
+        var after = request.queryParam("after").orElse(null);
+        var limit = request.queryParam("limit")
+                .map(PersonHandler::parseLimit)
+                .orElse(0);
+
+        if (sampler.sample()) {
+            LOG.info("Solicitação para buscar os persons alterados depois de [{}] e do id [{}]", since, after);
+        }
+
+        var from = after == null ? since.minus(delta.getOverlap()) : since;
 
-        return ok().contentType(MediaType.APPLICATION_STREAM_JSON)
-                .body(service.findUser(name, lastName, document).map(PersonResponse::new), PersonResponse.class);
+        return stream(request, service.listChanges(from, after, limit), writer);
+    }
+
+    public Mono<ServerResponse> changes(ServerRequest request) {
+        var overflow = request.queryParam("overflow")
+                .map(PersonHandler::parseOverflow)
+                .orElse(feedProperties.getOverflow());
+
+        if (sampler.sample()) {
+            LOG.info("Novo assinante no feed de alterações com a política de overflow [{}]", overflow);
+        }
+
+        Flux<ServerSentEvent<PersonChangeEvent>> events = feed.subscribe(overflow)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getSequence()))
+                        .event(event.getType().name().toLowerCase())
+                        .build());
+
+        Flux<ServerSentEvent<PersonChangeEvent>> heartbeat = Flux.interval(feedProperties.getHeartbeat())
+                .map($ -> ServerSentEvent.<PersonChangeEvent>builder().comment("heartbeat").build());
+
+        //O feed só termina quando o assinante é desconectado por atraso, e o heartbeat não pode mantê-lo aberto
+        return ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(Flux.merge(events, heartbeat)
+                        .takeUntil(event -> event.data() != null && event.data().getType() == PersonChangeEvent.Type.LAGGED)));
     }
 
     public Mono<ServerResponse> save(ServerRequest request) {
+        var key = idempotencyKey(request);
+
         return request.bodyToMono(PersonRequest.class)
-                .flatMap(service::newPerson)
-                .map(PersonResponse::new)
+                .flatMap(body -> key.map(k -> idempotency.execute("save", k, body, () -> create(body).map(List::of))
+                        .map(persons -> persons.get(0)))
+                        .orElseGet(() -> create(body)))
                 .flatMap(response -> status(HttpStatus.CREATED)
-                        .contentType(MediaType.APPLICATION_JSON)
+                        .contentType(negotiate(request, MediaType.APPLICATION_JSON))
                         .body(Mono.just(response), PersonResponse.class)
-                        .doOnSuccess($ -> LOG.info("Novo person inserido com sucesso [{}]", response))
+                        .doOnSuccess($ -> LOG.info("Novo person inserido com sucesso [{}]", response.getId()))
                 );
     }
 
+    /**
+     * Sem Idempotency-Key, as pessoas são devolvidas conforme são gravadas. Com ela, o lote é lido por inteiro e a
+     * resposta só é enviada ao final, pois é a mesma que será devolvida nas repetições; por isso a leitura para no
+     * limite de idempotency.maxBatchSize e o lote maior é recusado com 413.
+     */
     public Mono<ServerResponse> saveManyPersons(ServerRequest request) {
-        Flux<PersonResponse> responseFlux = request.bodyToFlux(PersonRequest.class)
-                .flatMap(service::newPersons)
-                .map(PersonResponse::new);
+        var body = rateLimiter.perRecord(request, request.bodyToFlux(PersonRequest.class));
+        var maxBatchSize = idempotencyProperties.getMaxBatchSize();
+
+        Flux<PersonResponse> responseFlux = idempotencyKey(request)
+                .map(key -> body.take(maxBatchSize + 1L)
+                        .collectList()
+                        .filter(persons -> persons.size() <= maxBatchSize)
+                        .switchIfEmpty(Mono.defer(() -> Mono.error(new PayloadTooLargeException(Constants.createErrorMessage(
+                                String.valueOf(maxBatchSize), Constants.IDEMPOTENT_BATCH_TOO_LARGE)))))
+                        .flatMap(persons -> idempotency.execute("saveMany", key, persons, () -> service.newPersons(Flux.fromIterable(persons))
+                                .map(PersonResponse::new)
+                                .collectList()))
+                        .flatMapIterable(persons -> persons))
+                .orElseGet(() -> service.newPersons(body)
+                        .map(PersonResponse::new));
 
         return status(HttpStatus.CREATED)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(responseFlux, PersonResponse.class);
+                .contentType(negotiate(request, MediaType.APPLICATION_JSON))
+                .body(Deadlines.bind(request, responseFlux), PersonResponse.class);
     }
 
     public Mono<ServerResponse> update(ServerRequest request) {
         return request.bodyToMono(UpdatePersonRequest.class)
                 .flatMap(service::updatePerson)
                 .map(PersonResponse::new)
-                .flatMap(response -> ok().contentType(MediaType.APPLICATION_JSON)
+                .flatMap(response -> ok().contentType(negotiate(request, MediaType.APPLICATION_JSON))
                         .body(Mono.just(response), PersonResponse.class)
-                        .doOnSuccess($ -> LOG.info("Person alterado com sucesso [{}]", response))
+                        .doOnSuccess($ -> LOG.info("Person alterado com sucesso [{}]", response.getId()))
                 );
     }
 
     public Mono<ServerResponse> inactivate(ServerRequest request) {
         return service.inactivatePerson(request.pathVariable("id"))
                 .flatMap(person -> noContent().build()
-                        .doOnSuccess($ -> LOG.info("Person inativado com sucesso [{}]", person))
+                        .doOnSuccess($ -> LOG.info("Person inativado com sucesso [{}]", person.getId()))
                 )
                 .switchIfEmpty(noContent().build());
     }
 
+    private Mono<PersonResponse> create(PersonRequest body) {
+        return service.newPerson(body).map(PersonResponse::new);
+    }
+
+    private ObjectWriter writer(List<String> fields) {
+        return fields.isEmpty() ? writer : projectionWriter;
+    }
+
+    private Mono<ServerResponse> stream(ServerRequest request, Flux<PersonResponse> body, ObjectWriter writer) {
+        var persons = Deadlines.bind(request, body);
+        var mediaType = negotiate(request, MediaType.APPLICATION_STREAM_JSON);
+
+        if (!MediaType.APPLICATION_STREAM_JSON.equals(mediaType)) {
+            return ok().contentType(mediaType).body(persons, PersonResponse.class);
+        }
+
+        var body = toNdjson(persons, writer, dataBufferFactory, stream.getChunkSize(), stream.getFlushInterval());
+
+        return ok().contentType(mediaType)
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+
+    private static FeedProperties.Overflow parseOverflow(String overflow) {
+        return Arrays.stream(FeedProperties.Overflow.values())
+                .filter(value -> value.name().replace('_', '-').equalsIgnoreCase(overflow))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(Constants.createErrorMessage(overflow, Constants.INVALID_OVERFLOW)));
+    }
+
+    private static Optional<String> idempotencyKey(ServerRequest request) {
+        return Optional.ofNullable(request.headers().asHttpHeaders().getFirst(Constants.IDEMPOTENCY_KEY))
+                .map(key -> {
+                    if (key.isBlank() || key.length() > 255) {
+                        throw new BadRequestException(Constants.createErrorMessage(key, Constants.INVALID_IDEMPOTENCY_KEY));
+                    }
+
+                    return key;
+                });
+    }
+
+    private static LocalDateTime parseSince(String since) {
+        try {
+            return LocalDateTime.parse(since);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(Constants.createErrorMessage(since, Constants.INVALID_SINCE));
+        }
+    }
+
+    private static int parseLimit(String limit) {
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(Constants.createErrorMessage(limit, Constants.INVALID_LIMIT));
+        }
+    }
+
+    private static List<String> parseFields(String fields) {
+        if (fields == null) {
+            return List.of();
+        }
+
+        return Stream.of(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retorna CBOR ou Smile quando o cliente os pede explicitamente no Accept, respeitando a ordem de preferência,
+     * e o media type padrão da rota nos demais casos.
+     */
+    private static MediaType negotiate(ServerRequest request, MediaType defaultMediaType) {
+        var accepted = new ArrayList<>(request.headers().accept());
+        MediaType.sortBySpecificityAndQuality(accepted);
+
+        for (MediaType mediaType : accepted) {
+            var binary = BINARY_MEDIA_TYPES.stream()
+                    .filter(type -> type.includes(mediaType))
+                    .findFirst();
+
+            if (binary.isPresent()) {
+                return binary.get();
+            }
+
+            if (mediaType.isCompatibleWith(defaultMediaType)) {
+                return defaultMediaType;
+            }
+        }
+
+        return defaultMediaType;
+    }
+
 }
\ No newline at end of file
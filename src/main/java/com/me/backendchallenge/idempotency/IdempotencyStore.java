@@ -0,0 +1,160 @@
+package com.me.backendchallenge.idempotency;
+
+import com.me.backendchallenge.config.properties.IdempotencyProperties;
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.me.backendchallenge.exceptions.BadRequestException;
+import com.me.backendchallenge.exceptions.InternalServerErrorException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Guarda o resultado das requisições com Idempotency-Key em um LRU local e, quando configurado, no MongoDB com um
+ * índice TTL, para que as repetições (ex. retry depois de um timeout) recebam a mesma resposta sem passar de novo
+ * pela validação e gravação.
+ * <p>
+ * Repetições que chegam enquanto a primeira ainda está em andamento aguardam o mesmo resultado. Só os resultados de
+ * sucesso são guardados: depois de um erro, a repetição é processada normalmente.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyProperties properties;
+    private final ReactiveMongoTemplate template;
+    private final ObjectMapper mapper;
+    private final Cache<String, IdempotentResponse> completed;
+    private final ConcurrentMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, ReactiveMongoTemplate template, ObjectMapper mapper) {
+        this.properties = properties;
+        this.template = template;
+        this.mapper = mapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumWeight(this.properties.getMaximumWeight())
+                .weigher((String key, IdempotentResponse response) -> Math.max(1, response.getPersons().size()))
+                .expireAfterWrite(this.properties.getTtl())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        if (!properties.isPersistent()) {
+            return;
+        }
+
+        template.indexOps(properties.getCollection())
+                .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(properties.getTtl().getSeconds()))
+                .subscribe(name -> LOG.info("Índice TTL [{}] da coleção {} criado.", name, properties.getCollection()),
+                        error -> LOG.warn("Não foi possível criar o índice TTL da coleção {}.", properties.getCollection(), error));
+    }
+
+    /**
+     * Executa o pipeline uma única vez por chave. A chave é separada por rota (scope) e o conteúdo da requisição é
+     * comparado pelo hash: a mesma chave com outro conteúdo é rejeitada.
+     */
+    public Mono<List<PersonResponse>> execute(String scope, String key, Object request,
+                                              Supplier<Mono<List<PersonResponse>>> pipeline) {
+        return Mono.defer(() -> {
+            var id = scope + ":" + key;
+            var fingerprint = fingerprint(request);
+
+            var stored = completed.getIfPresent(id);
+
+            if (stored != null) {
+                return replay(stored, key, fingerprint);
+            }
+
+            //O resultado é guardado antes de a chave sair de pending, então ele é consultado de novo aqui
+            var current = pending.computeIfAbsent(id, k -> new Pending(fingerprint, Mono.fromCallable(() -> completed.getIfPresent(k))
+                    .switchIfEmpty(load(k))
+                    .flatMap(found -> replay(found, key, fingerprint))
+                    .switchIfEmpty(Mono.defer(pipeline)
+                            .flatMap(persons -> store(new IdempotentResponse(k, fingerprint, persons))))
+                    .doFinally($ -> pending.remove(k))));
+
+            return current.fingerprint.equals(fingerprint) ? current.result : Mono.error(reused(key));
+        });
+    }
+
+    private Mono<List<PersonResponse>> replay(IdempotentResponse stored, String key, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            return Mono.error(reused(key));
+        }
+
+        LOG.info("Requisição repetida com a Idempotency-Key [{}], devolvendo o resultado anterior.", key);
+        return Mono.just(stored.getPersons());
+    }
+
+    private Mono<IdempotentResponse> load(String id) {
+        if (!properties.isPersistent()) {
+            return Mono.empty();
+        }
+
+        return template.findById(id, IdempotentResponse.class, properties.getCollection())
+                .doOnNext(found -> completed.put(id, found));
+    }
+
+    private Mono<List<PersonResponse>> store(IdempotentResponse response) {
+        completed.put(response.getKey(), response);
+
+        if (!properties.isPersistent()) {
+            return Mono.just(response.getPersons());
+        }
+
+        //Outra instância pode ter gravado a mesma chave; o resultado local já foi gerado e é devolvido assim mesmo
+        return template.insert(response, properties.getCollection())
+                .onErrorResume(error -> {
+                    LOG.warn("Não foi possível gravar a Idempotency-Key [{}] no MongoDB.", response.getKey(), error);
+                    return Mono.just(response);
+                })
+                .map(IdempotentResponse::getPersons);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(mapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            LOG.error("Não foi possível calcular o hash da requisição.", e);
+            throw new InternalServerErrorException("Não foi possível calcular o hash da requisição.");
+        }
+    }
+
+    private static BadRequestException reused(String key) {
+        return new BadRequestException(Constants.createErrorMessage(key, Constants.IDEMPOTENCY_KEY_REUSED));
+    }
+
+    private static final class Pending {
+
+        private final String fingerprint;
+        private final Mono<List<PersonResponse>> result;
+
+        private Pending(String fingerprint, Mono<List<PersonResponse>> pipeline) {
+            this.fingerprint = fingerprint;
+            this.result = pipeline.cache();
+        }
+    }
+}
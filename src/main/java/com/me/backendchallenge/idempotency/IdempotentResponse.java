@@ -0,0 +1,48 @@
+package com.me.backendchallenge.idempotency;
+
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import org.springframework.data.annotation.Id;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Resultado de uma requisição com Idempotency-Key, devolvido nas repetições da mesma chave.
+ */
+public class IdempotentResponse {
+
+    @Id
+    private String key;
+
+    private String fingerprint;
+
+    private List<PersonResponse> persons;
+
+    private Date createdAt;
+
+    public IdempotentResponse() {
+    }
+
+    public IdempotentResponse(String key, String fingerprint, List<PersonResponse> persons) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.persons = persons;
+        this.createdAt = new Date();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public List<PersonResponse> getPersons() {
+        return persons;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
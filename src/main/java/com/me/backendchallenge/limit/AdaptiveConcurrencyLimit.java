@@ -0,0 +1,103 @@
+package com.me.backendchallenge.limit;
+
+import com.me.backendchallenge.config.properties.ConcurrencyProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada, sem locks.
+ * <p>
+ * A cada resposta, a latência é comparada com a média de longo prazo: enquanto ela se mantém dentro da tolerância o
+ * limite cresce (aproximadamente a raiz quadrada do limite atual), e quando sobe o limite é reduzido na mesma
+ * proporção. Erros do servidor e respostas acima de maxLatency reduzem o limite pelo backoffRatio. Amostras com
+ * menos da metade do limite em uso não aumentam o limite, pois não indicam que ele comportaria mais.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final ConcurrencyProperties.Limit settings;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<State> state;
+
+    public AdaptiveConcurrencyLimit(ConcurrencyProperties.Limit settings) {
+        this.settings = settings;
+        this.state = new AtomicReference<>(new State(settings.getInitialLimit(), 0));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+
+            if (current >= getLimit()) {
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga sem registrar a latência, ex. quando o cliente desconecta antes do fim da resposta.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long latencyNanos, boolean dropped) {
+        var current = inFlight.getAndDecrement();
+        var latency = Math.max(1, latencyNanos);
+        var timeout = latency > settings.getMaxLatency().toNanos();
+
+        state.updateAndGet(previous -> dropped || timeout ?
+                previous.backoff(settings) :
+                previous.sample(latency, current, settings));
+    }
+
+    public int getLimit() {
+        return (int) state.get().limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private static final class State {
+
+        private final double limit;
+        private final double longLatency;
+
+        private State(double limit, double longLatency) {
+            this.limit = limit;
+            this.longLatency = longLatency;
+        }
+
+        private State backoff(ConcurrencyProperties.Limit settings) {
+            return new State(clamp(limit * settings.getBackoffRatio(), settings), longLatency);
+        }
+
+        private State sample(long latency, int inFlight, ConcurrencyProperties.Limit settings) {
+            var average = longLatency == 0 ? latency : longLatency + (latency - longLatency) / settings.getWindow();
+
+            //Depois de um pico longo a média demora a voltar; sem isso o limite cresceria sem medida
+            if (average > 2 * latency) {
+                average *= 0.95;
+            }
+
+            if (inFlight < limit / 2) {
+                return new State(limit, average);
+            }
+
+            var gradient = Math.max(0.5, Math.min(1.0, settings.getTolerance() * average / latency));
+            var target = limit * gradient + Math.sqrt(limit);
+            var smoothed = limit * (1 - settings.getSmoothing()) + target * settings.getSmoothing();
+
+            return new State(clamp(smoothed, settings), average);
+        }
+
+        private static double clamp(double limit, ConcurrencyProperties.Limit settings) {
+            return Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), limit));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.me.backendchallenge.limit;
+
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.exceptions.ApplicationException;
+import com.me.backendchallenge.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplica um {@link AdaptiveConcurrencyLimit} às rotas filtradas. A vaga só é devolvida no fim da escrita do corpo,
+ * para que a latência das rotas em stream também seja considerada; acima do limite a requisição é recusada na hora com
+ * 503 e Retry-After.
+ */
+public class ConcurrencyLimitFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final String retryAfter;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(String group, AdaptiveConcurrencyLimit limit, Duration retryAfter, MeterRegistry registry) {
+        this.limit = limit;
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.getSeconds()));
+        this.rejected = registry.counter("person.concurrency.rejected", "group", group);
+
+        Gauge.builder("person.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("group", group).description("Limite atual de requisições simultâneas").register(registry);
+        Gauge.builder("person.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("group", group).description("Requisições em andamento").register(registry);
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            request.exchange().getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+
+            return Mono.error(new ServiceUnavailableException(Constants.SERVICE_OVERLOADED));
+        }
+
+        var permit = new Permit(limit);
+
+        return Mono.defer(() -> next.handle(request))
+                .doOnSuccess(response -> {
+                    if (response == null) {
+                        permit.release(false);
+                    }
+                })
+                .doOnError(error -> permit.release(isServerError(error)))
+                .doOnCancel(permit::cancel)
+                .map(response -> new LimitedResponse(response, permit));
+    }
+
+    private static boolean isServerError(Throwable error) {
+        return !(error instanceof ApplicationException) || ((ApplicationException) error).getHttpCode() >= 500;
+    }
+
+    private static final class Permit {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+
+        private void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, dropped);
+            }
+        }
+
+        private void cancel() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+    }
+
+    private static final class LimitedResponse implements ServerResponse {
+
+        private final ServerResponse delegate;
+        private final Permit permit;
+
+        private LimitedResponse(ServerResponse delegate, Permit permit) {
+            this.delegate = delegate;
+            this.permit = permit;
+        }
+
+        @Override
+        public HttpStatus statusCode() {
+            return delegate.statusCode();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return delegate.headers();
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> cookies() {
+            return delegate.cookies();
+        }
+
+        @Override
+        public Mono<Void> writeTo(ServerWebExchange exchange, Context context) {
+            return delegate.writeTo(exchange, context)
+                    .doOnSuccess($ -> permit.release(delegate.statusCode().is5xxServerError()))
+                    .doOnError(error -> permit.release(true))
+                    .doOnCancel(permit::cancel);
+        }
+    }
+}
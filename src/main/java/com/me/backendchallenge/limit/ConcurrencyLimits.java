@@ -0,0 +1,45 @@
+package com.me.backendchallenge.limit;
+
+import com.me.backendchallenge.config.properties.ConcurrencyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Limites de concorrência separados para as rotas interativas e de lote, para que uma importação ou exportação grande
+ * não consuma as vagas das requisições de uma pessoa só.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final HandlerFilterFunction<ServerResponse, ServerResponse> interactive;
+    private final HandlerFilterFunction<ServerResponse, ServerResponse> bulk;
+
+    @Autowired
+    public ConcurrencyLimits(ConcurrencyProperties concurrency, MeterRegistry registry) {
+        this.interactive = filter("interactive", concurrency.getInteractive(), concurrency, registry);
+        this.bulk = filter("bulk", concurrency.getBulk(), concurrency, registry);
+    }
+
+    public HandlerFunction<ServerResponse> interactive(HandlerFunction<ServerResponse> handler) {
+        return interactive.apply(handler);
+    }
+
+    public HandlerFunction<ServerResponse> bulk(HandlerFunction<ServerResponse> handler) {
+        return bulk.apply(handler);
+    }
+
+    private static HandlerFilterFunction<ServerResponse, ServerResponse> filter(String group,
+                                                                                 ConcurrencyProperties.Limit limit,
+                                                                                 ConcurrencyProperties concurrency,
+                                                                                 MeterRegistry registry) {
+        if (!concurrency.isEnabled()) {
+            return (request, next) -> next.handle(request);
+        }
+
+        return new ConcurrencyLimitFilter(group, new AdaptiveConcurrencyLimit(limit), concurrency.getRetryAfter(), registry);
+    }
+}
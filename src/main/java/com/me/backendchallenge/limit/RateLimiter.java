@@ -0,0 +1,149 @@
+package com.me.backendchallenge.limit;
+
+import com.me.backendchallenge.config.properties.RateLimitProperties;
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições por cliente, identificado pela API key quando ela está em person.rate-limit.api-keys ou, caso
+ * contrário, pelo IP: uma chave desconhecida não ganha um balde próprio, senão bastaria trocá-la a cada requisição para
+ * escapar do limite. Cada rota consome o custo configurado em person.rate-limit.costs (1 por padrão); a listagem sem
+ * filtros usa o custo de findAll.
+ * <p>
+ * No cadastro em lote cada pessoa consome um token: quando o saldo acaba, a leitura do corpo é pausada até que haja
+ * tokens, em vez de interromper uma resposta que já começou a ser enviada.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String CLIENT_ATTRIBUTE = RateLimiter.class.getName() + ".client";
+
+    private final RateLimitProperties properties;
+    private final TokenBucketStore buckets;
+    private final MeterRegistry registry;
+
+    private volatile Disposable eviction;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.buckets = new TokenBucketStore(this.properties.getStripes(), this.properties.getTokensPerSecond(),
+                this.properties.getCapacity(), this.properties.getIdleTimeout(), this.properties.getMaxClients());
+        this.registry = registry;
+
+        Gauge.builder("person.ratelimit.clients", buckets, TokenBucketStore::size)
+                .description("Clientes com token bucket em memória").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        eviction = Flux.interval(properties.getEvictionInterval())
+                .map($ -> buckets.evictIdle())
+                .filter(evicted -> evicted > 0)
+                .subscribe(evicted -> LOG.debug("{} clientes ociosos removidos do rate limit.", evicted));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (eviction != null) {
+            eviction.dispose();
+        }
+    }
+
+    public HandlerFunction<ServerResponse> limit(String route, HandlerFunction<ServerResponse> handler) {
+        if (!properties.isEnabled()) {
+            return handler;
+        }
+
+        return request -> {
+            var client = client(request);
+            var name = isFindAll(route, request) ? "findAll" : route;
+            var wait = buckets.tryConsume(client, properties.getCosts().getOrDefault(name, 1));
+
+            if (wait > 0) {
+                registry.counter("person.ratelimit.rejected", "route", name).increment();
+
+                var retryAfter = String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+                request.exchange().getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+
+                return Mono.error(new TooManyRequestsException(Constants.createErrorMessage(retryAfter, Constants.RATE_LIMIT_EXCEEDED)));
+            }
+
+            request.attributes().put(CLIENT_ATTRIBUTE, client);
+            return handler.handle(request);
+        };
+    }
+
+    /**
+     * Cobra um token por registro do corpo, aguardando o saldo do cliente quando ele acabar.
+     */
+    public <T> Flux<T> perRecord(ServerRequest request, Flux<T> records) {
+        return request.attribute(CLIENT_ATTRIBUTE)
+                .map(String.class::cast)
+                .map(client -> records.delayUntil($ -> throttle(client)))
+                .orElse(records);
+    }
+
+    private Mono<Long> throttle(String client) {
+        var wait = buckets.reserve(client, 1);
+
+        if (wait == 0) {
+            return Mono.empty();
+        }
+
+        registry.counter("person.ratelimit.throttled").increment();
+        return Mono.delay(Duration.ofNanos(wait));
+    }
+
+    private String client(ServerRequest request) {
+        var apiKey = request.headers().asHttpHeaders().getFirst(properties.getClientHeader());
+
+        if (apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+
+        if (properties.isTrustForwardedFor()) {
+            var forwarded = request.headers().asHttpHeaders().getFirst("X-Forwarded-For");
+
+            if (forwarded != null && !forwarded.isBlank()) {
+                return "ip:" + forwarded.split(",")[0].trim();
+            }
+        }
+
+        return "ip:" + request.remoteAddress()
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress)
+                .orElse("desconhecido");
+    }
+
+    private static boolean isFindAll(String route, ServerRequest request) {
+        return "find".equals(route) && request.queryParams().keySet().stream().allMatch("fields"::equals);
+    }
+}
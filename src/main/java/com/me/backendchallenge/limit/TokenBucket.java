@@ -0,0 +1,57 @@
+package com.me.backendchallenge.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket representado pelo instante (System.nanoTime) em que ele estará cheio de novo: consumir tokens empurra
+ * esse instante para frente e o tempo passado os devolve. Assim o estado cabe em um único AtomicLong e cada consumo é
+ * um compareAndSet, sem locks nem tarefas de reposição.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Consome os tokens se houver saldo. Retorna 0 quando consumiu ou o tempo de espera até haver saldo.
+     */
+    long tryConsume(int cost, long now, long nanosPerToken, long capacityNanos) {
+        while (true) {
+            var current = fullAt.get();
+            var next = Math.max(current, now) + cost * nanosPerToken;
+            var wait = next - now - capacityNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Consome os tokens mesmo sem saldo, retornando quanto tempo o chamador deve aguardar para usá-los.
+     */
+    long reserve(int cost, long now, long nanosPerToken, long capacityNanos) {
+        while (true) {
+            var current = fullAt.get();
+            var next = Math.max(current, now) + cost * nanosPerToken;
+
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(0, next - now - capacityNanos);
+            }
+        }
+    }
+
+    /**
+     * Um balde cheio há mais de idleNanos pode ser descartado: recriá-lo dá o mesmo saldo.
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - fullAt.get() > idleNanos;
+    }
+}
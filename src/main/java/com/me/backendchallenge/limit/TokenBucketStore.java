@@ -0,0 +1,100 @@
+package com.me.backendchallenge.limit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets por cliente, divididos em mapas independentes (stripes) pelo hash do cliente. A limpeza dos clientes
+ * ociosos percorre um stripe por vez, sem bloquear os demais.
+ * <p>
+ * A quantidade de baldes é limitada por maxBuckets (de forma aproximada, sob concorrência): com o limite atingido, os
+ * clientes novos dividem um único balde de overflow até que a limpeza libere espaço.
+ */
+public class TokenBucketStore {
+
+    private final Map<String, TokenBucket>[] stripes;
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final long idleNanos;
+    private final int maxBuckets;
+    private final LongSupplier clock;
+    private final TokenBucket overflow;
+
+    public TokenBucketStore(int stripes, double tokensPerSecond, int capacity, Duration idleTimeout, int maxBuckets) {
+        this(stripes, tokensPerSecond, capacity, idleTimeout, maxBuckets, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketStore(int stripes, double tokensPerSecond, int capacity, Duration idleTimeout, int maxBuckets, LongSupplier clock) {
+        this.stripes = new Map[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        this.nanosPerToken = (long) (Duration.ofSeconds(1).toNanos() / tokensPerSecond);
+        this.capacityNanos = capacity * nanosPerToken;
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxBuckets = maxBuckets;
+        this.clock = clock;
+        this.overflow = new TokenBucket(clock.getAsLong());
+
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Retorna 0 quando os tokens foram consumidos ou o tempo até o cliente ter saldo, sem consumir nada.
+     */
+    public long tryConsume(String client, int cost) {
+        var now = clock.getAsLong();
+        return bucket(client, now).tryConsume(cost, now, nanosPerToken, capacityNanos);
+    }
+
+    /**
+     * Consome os tokens e retorna quanto tempo o cliente deve aguardar antes de usá-los.
+     */
+    public long reserve(String client, int cost) {
+        var now = clock.getAsLong();
+        return bucket(client, now).reserve(cost, now, nanosPerToken, capacityNanos);
+    }
+
+    public int evictIdle() {
+        var evicted = 0;
+
+        for (var stripe : stripes) {
+            var now = clock.getAsLong();
+            var before = stripe.size();
+
+            stripe.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            evicted += before - stripe.size();
+        }
+
+        return evicted;
+    }
+
+    public int size() {
+        var size = 0;
+
+        for (var stripe : stripes) {
+            size += stripe.size();
+        }
+
+        return size;
+    }
+
+    private TokenBucket bucket(String client, long now) {
+        var hash = client.hashCode();
+        var stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+
+        var bucket = stripe.get(client);
+
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (size() >= maxBuckets) {
+            return overflow;
+        }
+
+        return stripe.computeIfAbsent(client, $ -> new TokenBucket(now));
+    }
+}
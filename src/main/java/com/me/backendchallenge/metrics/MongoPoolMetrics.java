@@ -0,0 +1,124 @@
+package com.me.backendchallenge.metrics;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionAddedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolListenerAdapter;
+import com.mongodb.event.ConnectionPoolOpenedEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueEnteredEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueExitedEvent;
+import com.mongodb.event.ConnectionRemovedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Gauges do pool de conexões do driver por servidor e MongoClient (interactive ou bulk): conexões abertas, em uso,
+ * fila de espera e utilização (em uso / tamanho máximo). O Micrometer desta versão ainda não traz um listener pronto
+ * para o MongoDB.
+ */
+@Component
+public class MongoPoolMetrics extends ConnectionPoolListenerAdapter {
+
+    private final MeterRegistry registry;
+    private final Map<ServerId, Pool> pools = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MongoPoolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void connectionPoolOpened(ConnectionPoolOpenedEvent event) {
+        var pool = new Pool(event.getSettings().getMaxSize());
+        var client = event.getServerId().getClusterId().getDescription();
+        var tags = Tags.of("server", event.getServerId().getAddress().toString(),
+                "client", client == null ? "default" : client);
+
+        pool.meters.add(Gauge.builder("person.mongo.pool.size", pool.size, AtomicInteger::get)
+                .tags(tags).description("Conexões abertas no pool").register(registry));
+        pool.meters.add(Gauge.builder("person.mongo.pool.checkedout", pool.checkedOut, AtomicInteger::get)
+                .tags(tags).description("Conexões em uso").register(registry));
+        pool.meters.add(Gauge.builder("person.mongo.pool.waitqueue", pool.waitQueue, AtomicInteger::get)
+                .tags(tags).description("Operações aguardando uma conexão").register(registry));
+        pool.meters.add(Gauge.builder("person.mongo.pool.utilization", pool, Pool::utilization)
+                .tags(tags).description("Conexões em uso sobre o tamanho máximo do pool").register(registry));
+
+        pools.put(event.getServerId(), pool);
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        var pool = pools.remove(event.getServerId());
+
+        if (pool != null) {
+            pool.meters.forEach(registry::remove);
+        }
+    }
+
+    @Override
+    public void connectionAdded(ConnectionAddedEvent event) {
+        update(event.getConnectionId().getServerId(), pool -> pool.size, 1);
+    }
+
+    @Override
+    public void connectionRemoved(ConnectionRemovedEvent event) {
+        update(event.getConnectionId().getServerId(), pool -> pool.size, -1);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        update(event.getConnectionId().getServerId(), pool -> pool.checkedOut, 1);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        update(event.getConnectionId().getServerId(), pool -> pool.checkedOut, -1);
+    }
+
+    @Override
+    public void waitQueueEntered(ConnectionPoolWaitQueueEnteredEvent event) {
+        update(event.getServerId(), pool -> pool.waitQueue, 1);
+    }
+
+    @Override
+    public void waitQueueExited(ConnectionPoolWaitQueueExitedEvent event) {
+        update(event.getServerId(), pool -> pool.waitQueue, -1);
+    }
+
+    private void update(ServerId serverId, Function<Pool, AtomicInteger> counter, int delta) {
+        var pool = pools.get(serverId);
+
+        if (pool != null) {
+            counter.apply(pool).addAndGet(delta);
+        }
+    }
+
+    private static class Pool {
+        private final int maxSize;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final AtomicInteger waitQueue = new AtomicInteger();
+        private final List<Meter> meters = new ArrayList<>();
+
+        private Pool(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private double utilization() {
+            return maxSize == 0 ? 0 : (double) checkedOut.get() / maxSize;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.me.backendchallenge.metrics;
+
+import com.me.backendchallenge.exceptions.BadRequestException;
+import com.me.backendchallenge.exceptions.ConflictException;
+import com.me.backendchallenge.exceptions.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores dos resultados das operações de escrita do service (sucesso, conflito, validação...).
+ */
+@Component
+public class PersonMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String NOT_FOUND = "not_found";
+    public static final String CONFLICT = "conflict";
+    public static final String INVALID = "invalid";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public PersonMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(final String operation, final String outcome) {
+        registry.counter("person.service.outcomes", "operation", operation, "outcome", outcome)
+                .increment();
+    }
+
+    public void record(final String operation, final Throwable error) {
+        record(operation, outcome(error));
+    }
+
+    private static String outcome(final Throwable error) {
+        if (error instanceof ConflictException) {
+            return CONFLICT;
+        }
+
+        if (error instanceof BadRequestException) {
+            return INVALID;
+        }
+
+        if (error instanceof NotFoundException) {
+            return NOT_FOUND;
+        }
+
+        return ERROR;
+    }
+}
@@ -0,0 +1,56 @@
+package com.me.backendchallenge.metrics;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de cada etapa de uma única execução amostrada de um pipeline.
+ */
+public class PipelineTrace {
+
+    private final String pipeline;
+    private final long start = System.nanoTime();
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    public PipelineTrace(String pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public void add(String stage, String outcome, long durationNanos) {
+        stages.add(new Stage(stage, outcome, durationNanos));
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.JSON_STYLE)
+                .append("pipeline", pipeline)
+                .append("totalMicros", TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start))
+                .append("stages", stages)
+                .toString();
+    }
+
+    private static class Stage {
+        private final String name;
+        private final String outcome;
+        private final long durationNanos;
+
+        private Stage(String name, String outcome, long durationNanos) {
+            this.name = name;
+            this.outcome = outcome;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, ToStringStyle.JSON_STYLE)
+                    .append("stage", name)
+                    .append("outcome", outcome)
+                    .append("micros", TimeUnit.NANOSECONDS.toMicros(durationNanos))
+                    .toString();
+        }
+    }
+}
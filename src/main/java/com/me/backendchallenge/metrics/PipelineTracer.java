@@ -0,0 +1,81 @@
+package com.me.backendchallenge.metrics;
+
+import com.me.backendchallenge.config.properties.TracingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada etapa dos pipelines de criação/alteração como histograma ({@code person.pipeline.stage}) e, para as
+ * execuções amostradas, registra no log o trace com o tempo de todas as etapas.
+ * <p>
+ * Com {@code person.tracing.enabled=false} as etapas são devolvidas sem nenhum operador adicional.
+ */
+@Component
+public class PipelineTracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelineTracer.class);
+
+    private final MeterRegistry registry;
+    private final TracingProperties properties;
+
+    @Autowired
+    public PipelineTracer(MeterRegistry registry, TracingProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    public <T> Mono<T> traced(final String pipeline, final Mono<T> source) {
+        if (!properties.isEnabled() || !sampled()) {
+            return source;
+        }
+
+        return Mono.defer(() -> {
+            var trace = new PipelineTrace(pipeline);
+
+            return source.doFinally($ -> LOG.info("{}", trace))
+                    .subscriberContext(context -> context.put(PipelineTrace.class, trace));
+        });
+    }
+
+    public <T> Mono<T> stage(final String pipeline, final String stage, final Mono<T> source) {
+        if (!properties.isEnabled()) {
+            return source;
+        }
+
+        return Mono.subscriberContext().flatMap(context -> {
+            PipelineTrace trace = context.getOrDefault(PipelineTrace.class, null);
+            var start = System.nanoTime();
+
+            return source.doFinally(signal -> record(pipeline, stage, signal, System.nanoTime() - start, trace));
+        });
+    }
+
+    private void record(String pipeline, String stage, SignalType signal, long duration, PipelineTrace trace) {
+        var outcome = signal == SignalType.ON_ERROR ? "error" : signal == SignalType.CANCEL ? "cancelled" : "success";
+
+        Timer.builder("person.pipeline.stage")
+                .tag("pipeline", pipeline)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(duration, TimeUnit.NANOSECONDS);
+
+        if (trace != null) {
+            trace.add(stage, outcome, duration);
+        }
+    }
+
+    private boolean sampled() {
+        var rate = properties.getSampleRate();
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,65 @@
+package com.me.backendchallenge.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Mede a latência de cada método do repositório, da inscrição no Mono/Flux até o seu término.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final MeterRegistry registry;
+
+    public RepositoryMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var result = invocation.proceed();
+        var method = invocation.getMethod().getName();
+
+        if (result instanceof Mono) {
+            var mono = (Mono<?>) result;
+
+            return Mono.defer(() -> {
+                var sample = Timer.start(registry);
+                return mono.doFinally(signal -> record(sample, method, signal));
+            });
+        }
+
+        if (result instanceof Flux) {
+            var flux = (Flux<?>) result;
+
+            return Flux.defer(() -> {
+                var sample = Timer.start(registry);
+                return flux.doFinally(signal -> record(sample, method, signal));
+            });
+        }
+
+        return result;
+    }
+
+    private void record(Timer.Sample sample, String method, SignalType signal) {
+        sample.stop(Timer.builder("person.repository.calls")
+                .tag("method", method)
+                .tag("outcome", outcome(signal))
+                .register(registry));
+    }
+
+    private static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_ERROR:
+                return "error";
+            case CANCEL:
+                return "cancelled";
+            default:
+                return "success";
+        }
+    }
+}
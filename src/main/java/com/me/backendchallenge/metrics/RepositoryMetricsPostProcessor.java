@@ -0,0 +1,29 @@
+package com.me.backendchallenge.metrics;
+
+import com.me.backendchallenge.repository.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Adiciona o {@link RepositoryMetricsInterceptor} ao proxy do repositório criado pelo Spring Data. O interceptor entra no
+ * início da cadeia, pois os interceptors finais do Spring Data executam o método sem chamar os seguintes.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof PersonRepository && bean instanceof Advised) {
+            ((Advised) bean).addAdvice(0, new RepositoryMetricsInterceptor(registry.getObject()));
+        }
+
+        return bean;
+    }
+}
@@ -0,0 +1,77 @@
+package com.me.backendchallenge.metrics;
+
+import com.me.backendchallenge.exceptions.ApplicationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Mede a latência de cada rota, do recebimento da requisição até o fim da escrita do corpo (inclusive nas rotas em
+ * stream). Só são medidas as rotas registradas com {@link #route(String, HandlerFunction)}.
+ */
+@Component
+public class RouteMetricsWebFilter implements WebFilter {
+
+    private static final String ROUTE_ATTRIBUTE = RouteMetricsWebFilter.class.getName() + ".route";
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public RouteMetricsWebFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static HandlerFunction<ServerResponse> route(String name, HandlerFunction<ServerResponse> handler) {
+        return request -> {
+            request.attributes().put(ROUTE_ATTRIBUTE, name);
+            return handler.handle(request);
+        };
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var sample = Timer.start(registry);
+
+        return chain.filter(exchange)
+                .doOnSuccess($ -> record(exchange, sample, status(exchange)))
+                .doOnError(error -> record(exchange, sample, status(error)))
+                .doOnCancel(() -> record(exchange, sample, "CANCELLED"));
+    }
+
+    private void record(ServerWebExchange exchange, Timer.Sample sample, String status) {
+        String route = exchange.getAttribute(ROUTE_ATTRIBUTE);
+
+        if (route == null) {
+            return;
+        }
+
+        sample.stop(Timer.builder("person.http.requests")
+                .tag("route", route)
+                .tag("method", exchange.getRequest().getMethodValue())
+                .tag("status", status)
+                .register(registry));
+    }
+
+    private static String status(ServerWebExchange exchange) {
+        return Optional.ofNullable(exchange.getResponse().getStatusCode())
+                .map(HttpStatus::value)
+                .orElse(HttpStatus.OK.value())
+                .toString();
+    }
+
+    private static String status(Throwable error) {
+        return error instanceof ApplicationException ?
+                ((ApplicationException) error).getHttpCode().toString() :
+                String.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+}
@@ -1,15 +1,19 @@
 package com.me.backendchallenge.model;
 
 import com.me.backendchallenge.exceptions.BadRequestException;
+import com.me.backendchallenge.model.id.IdGenerator;
+import com.me.backendchallenge.model.id.TimeOrderedIdGenerator;
 import com.me.backendchallenge.repository.item.PersonItem;
 import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.util.time.ClockTimeSource;
+import com.me.backendchallenge.util.time.TimeSource;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static com.me.backendchallenge.util.ValidatorUtil.*;
@@ -101,7 +105,11 @@ public class Person {
     }
 
     public Person inactivate() {
-        return new Builder()
+        return inactivate(Builder.DEFAULT_TIME_SOURCE);
+    }
+
+    public Person inactivate(TimeSource timeSource) {
+        return new Builder(Builder.DEFAULT_ID_GENERATOR, timeSource)
                 .withId(id)
                 .withName(name)
                 .withLastName(lastName)
@@ -133,6 +141,12 @@ public class Person {
     }
 
     public static class Builder {
+        private static final IdGenerator DEFAULT_ID_GENERATOR = new TimeOrderedIdGenerator();
+        private static final TimeSource DEFAULT_TIME_SOURCE = new ClockTimeSource(Clock.systemDefaultZone());
+
+        private final IdGenerator idGenerator;
+        private final TimeSource timeSource;
+
         private String id;
         private String name;
         private String lastName;
@@ -145,11 +159,16 @@ public class Person {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
-        public Person.Builder withId(String id) {
-            if (isBlank(id)) {
-                this.id = UUID.randomUUID().toString();
-            }
+        public Builder() {
+            this(DEFAULT_ID_GENERATOR, DEFAULT_TIME_SOURCE);
+        }
 
+        public Builder(IdGenerator idGenerator, TimeSource timeSource) {
+            this.idGenerator = idGenerator;
+            this.timeSource = timeSource;
+        }
+
+        public Person.Builder withId(String id) {
             this.id = id;
             return this;
         }
@@ -190,7 +209,7 @@ public class Person {
                 throw new BadRequestException(Constants.BIRTH_DATE_IS_NULL);
             }
 
-            if (isFuture(birthDate)) {
+            if (isFuture(birthDate, timeSource.today())) {
                 throw new BadRequestException(Constants.INVALID_BIRTH_DATE);
             }
 
@@ -244,7 +263,7 @@ public class Person {
         }
 
         public Person.Builder withUpdatedAt() {
-            this.updatedAt = LocalDateTime.now();
+            this.updatedAt = timeSource.now();
             return this;
         }
 
@@ -255,14 +274,14 @@ public class Person {
 
         public Person build() {
             if (isBlank(this.id)) {
-                this.id = UUID.randomUUID().toString();
+                this.id = idGenerator.generate();
             }
 
             if (this.active == null) {
                 this.active = true;
             }
 
-            var now = LocalDateTime.now();
+            var now = timeSource.now();
 
             this.updatedAt = now;
 
@@ -0,0 +1,7 @@
+package com.me.backendchallenge.model.id;
+
+public interface IdGenerator {
+
+    String generate();
+
+}
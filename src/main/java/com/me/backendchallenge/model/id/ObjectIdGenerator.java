@@ -0,0 +1,14 @@
+package com.me.backendchallenge.model.id;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Gera ids no formato ObjectId do MongoDB (timestamp + contador atômico), em hexadecimal.
+ */
+public class ObjectIdGenerator implements IdGenerator {
+
+    @Override
+    public String generate() {
+        return new ObjectId().toHexString();
+    }
+}
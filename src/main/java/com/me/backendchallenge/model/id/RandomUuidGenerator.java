@@ -0,0 +1,14 @@
+package com.me.backendchallenge.model.id;
+
+import java.util.UUID;
+
+/**
+ * UUID versão 4, totalmente aleatório. Usa o SecureRandom, que é compartilhado entre as threads.
+ */
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.me.backendchallenge.model.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gera UUIDs versão 7: os 48 bits mais significativos são o timestamp em milissegundos, então ids novos são sempre
+ * inseridos no fim do índice de {@code _id}. A parte aleatória vem do {@link ThreadLocalRandom}, sem lock e sem
+ * depender do SecureRandom.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    @Override
+    public String generate() {
+        var random = ThreadLocalRandom.current();
+
+        var mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0xFFFL);
+        var leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
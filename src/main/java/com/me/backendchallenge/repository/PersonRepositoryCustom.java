@@ -0,0 +1,46 @@
+package com.me.backendchallenge.repository;
+
+import com.me.backendchallenge.repository.item.PersonItem;
+import com.mongodb.WriteConcern;
+import org.bson.RawBsonDocument;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Consultas das rotas de leitura, executadas com a ReadPreference configurada para leituras, e escritas com
+ * WriteConcern explícito. Todas respeitam o {@link com.me.backendchallenge.deadline.Deadline} e a {@link Workload} do
+ * Context.
+ */
+public interface PersonRepositoryCustom {
+
+    <T> Flux<T> findAllBy(Class<T> type);
+
+    Mono<PersonItem> findById(String id);
+
+    Mono<PersonItem> findByDocument(String document);
+
+    Mono<PersonItem> findByEmails(String email);
+
+    <T> Mono<T> findByDocument(String document, Class<T> type);
+
+    <T> Flux<T> findByNameIgnoreCase(String name, Class<T> type);
+
+    <T> Flux<T> findByLastNameIgnoreCase(String lastName, Class<T> type);
+
+    Flux<RawBsonDocument> findAllRaw(int batchSize);
+
+    <T> Flux<T> findFields(Criteria criteria, Collection<String> fields, Class<T> type);
+
+    <T> Flux<T> findChangedSince(LocalDateTime updatedAt, String after, int limit, Class<T> type);
+
+    Mono<PersonItem> save(PersonItem item, WriteConcern writeConcern);
+
+    Mono<Void> writeBarrier(WriteConcern writeConcern);
+
+    Flux<PersonItem> findAllById(Iterable<String> ids);
+
+}
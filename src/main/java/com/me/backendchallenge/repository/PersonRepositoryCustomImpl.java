@@ -0,0 +1,214 @@
+package com.me.backendchallenge.repository;
+
+import com.me.backendchallenge.deadline.Deadline;
+import com.me.backendchallenge.repository.item.PersonItem;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class PersonRepositoryCustomImpl implements PersonRepositoryCustom {
+
+    private static final Document EXCLUDE_CLASS = new Document("_class", 0);
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final UpdateOptions BARRIER_UPSERT = new UpdateOptions().upsert(true);
+    private static final Sort CHANGES_ORDER = Sort.by("updatedAt", "id");
+    private static final String BARRIER_COLLECTION = "writeBarrier";
+
+    private final ReactiveMongoTemplate template;
+    private final ReactiveMongoTemplate reads;
+    private final ReactiveMongoTemplate bulk;
+    private final ReactiveMongoTemplate bulkReads;
+
+    @Autowired
+    public PersonRepositoryCustomImpl(ReactiveMongoTemplate template,
+                                      @Qualifier("readMongoTemplate") ReactiveMongoTemplate reads,
+                                      @Qualifier("bulkMongoTemplate") ReactiveMongoTemplate bulk,
+                                      @Qualifier("bulkReadMongoTemplate") ReactiveMongoTemplate bulkReads) {
+        this.template = template;
+        this.reads = reads;
+        this.bulk = bulk;
+        this.bulkReads = bulkReads;
+    }
+
+    @Override
+    public <T> Flux<T> findAllBy(Class<T> type) {
+        return find(new Query(), type);
+    }
+
+    /**
+     * As buscas por id, CPF e e-mail validam o cadastro e a alteração, por isso são feitas no primary.
+     */
+    @Override
+    public Mono<PersonItem> findById(String id) {
+        return first(primary(), query(where("id").is(id)), PersonItem.class);
+    }
+
+    @Override
+    public Mono<PersonItem> findByDocument(String document) {
+        return first(primary(), query(where("document").is(document)), PersonItem.class);
+    }
+
+    @Override
+    public Mono<PersonItem> findByEmails(String email) {
+        return first(primary(), query(where("emails").is(email)), PersonItem.class);
+    }
+
+    @Override
+    public <T> Mono<T> findByDocument(String document, Class<T> type) {
+        return first(secondary(), query(where("document").is(document)), type);
+    }
+
+    @Override
+    public <T> Flux<T> findByNameIgnoreCase(String name, Class<T> type) {
+        return find(query(where("name").regex(exactly(name), "i")), type);
+    }
+
+    @Override
+    public <T> Flux<T> findByLastNameIgnoreCase(String lastName, Class<T> type) {
+        return find(query(where("lastName").regex(exactly(lastName), "i")), type);
+    }
+
+    /**
+     * Lê os documentos da coleção sem passar pelo mapeamento de POJOs, mantendo os bytes em BSON como vieram do
+     * cursor.
+     */
+    @Override
+    public Flux<RawBsonDocument> findAllRaw(int batchSize) {
+        return secondary().flatMapMany(selected -> Deadline.bounded(maxTime ->
+                selected.execute(PersonItem.class, collection -> {
+                    var find = collection.withDocumentClass(RawBsonDocument.class)
+                            .find()
+                            .projection(EXCLUDE_CLASS)
+                            .batchSize(batchSize);
+
+                    return maxTime == null ? find : find.maxTime(maxTime, TimeUnit.MILLISECONDS);
+                })));
+    }
+
+    /**
+     * Busca apenas os campos informados, aplicando a projeção no próprio MongoDB. O id só é retornado quando
+     * solicitado.
+     */
+    @Override
+    public <T> Flux<T> findFields(Criteria criteria, Collection<String> fields, Class<T> type) {
+        var query = new Query(criteria);
+
+        fields.forEach(field -> query.fields().include(field));
+
+        if (!fields.contains("id")) {
+            query.fields().exclude("id");
+        }
+
+        return find(query, type);
+    }
+
+    /**
+     * Busca as pessoas alteradas depois do cursor (updatedAt, id), na ordem do índice updatedAt_id. Sem o id, retorna
+     * tudo que foi alterado depois de updatedAt; com ele, continua a partir da última pessoa recebida mesmo quando
+     * várias compartilham o mesmo updatedAt.
+     */
+    @Override
+    public <T> Flux<T> findChangedSince(LocalDateTime updatedAt, String after, int limit, Class<T> type) {
+        var criteria = after == null ? where("updatedAt").gt(updatedAt) : new Criteria().orOperator(
+                where("updatedAt").gt(updatedAt),
+                where("updatedAt").is(updatedAt).and("id").gt(after));
+
+        return find(query(criteria).with(CHANGES_ORDER).limit(limit), type);
+    }
+
+    /**
+     * Grava (insert ou replace pelo id) com o WriteConcern informado, em vez do padrão do template.
+     */
+    @Override
+    public Mono<PersonItem> save(PersonItem item, WriteConcern writeConcern) {
+        var document = new Document();
+        template.getConverter().write(item, document);
+
+        return primary().flatMap(selected -> Deadline.boundedMono(maxTime -> selected
+                .execute(PersonItem.class, collection -> collection
+                        .withWriteConcern(writeConcern)
+                        .replaceOne(Filters.eq("_id", document.get("_id")), document, UPSERT))
+                .then(Mono.just(item))));
+    }
+
+    /**
+     * Atualiza um documento marcador fora da coleção de pessoas com o WriteConcern informado. Como a replicação e o
+     * journal seguem a ordem do oplog, a confirmação desta escrita vale também para as escritas anteriores a ela, sem
+     * regravar nenhuma pessoa nem gerar eventos no change stream.
+     */
+    @Override
+    public Mono<Void> writeBarrier(WriteConcern writeConcern) {
+        return primary().flatMap(selected -> Deadline.boundedMono(maxTime -> selected
+                .execute(BARRIER_COLLECTION, collection -> collection
+                        .withWriteConcern(writeConcern)
+                        .updateOne(Filters.eq("_id", "bulk"), Updates.currentDate("at"), BARRIER_UPSERT))
+                .then()));
+    }
+
+    /**
+     * Substitui o findAllById padrão para que a verificação do lote também use o template da carga do Context.
+     */
+    @Override
+    public Flux<PersonItem> findAllById(Iterable<String> ids) {
+        var query = query(where("id").in(StreamSupport.stream(ids.spliterator(), false).collect(Collectors.toList())));
+
+        return primary().flatMapMany(selected -> Deadline.bounded(maxTime -> selected.query(PersonItem.class)
+                .matching(withMaxTime(query, maxTime))
+                .all()));
+    }
+
+    private <T> Flux<T> find(Query query, Class<T> type) {
+        return secondary().flatMapMany(selected -> Deadline.bounded(maxTime -> selected.query(PersonItem.class)
+                .as(type)
+                .matching(withMaxTime(query, maxTime))
+                .all()));
+    }
+
+    private static <T> Mono<T> first(Mono<ReactiveMongoTemplate> template, Query query, Class<T> type) {
+        return template.flatMap(selected -> Deadline.boundedMono(maxTime -> selected.query(PersonItem.class)
+                .as(type)
+                .matching(withMaxTime(query, maxTime))
+                .first()));
+    }
+
+    /**
+     * Template do primary, ou o do MongoClient de lote quando a chamada for {@link Workload#BULK}.
+     */
+    private Mono<ReactiveMongoTemplate> primary() {
+        return Mono.subscriberContext().map(context -> Workload.from(context) == Workload.BULK ? bulk : template);
+    }
+
+    private Mono<ReactiveMongoTemplate> secondary() {
+        return Mono.subscriberContext().map(context -> Workload.from(context) == Workload.BULK ? bulkReads : reads);
+    }
+
+    private static Query withMaxTime(Query query, Long maxTime) {
+        return maxTime == null ? query : query.maxTimeMsec(maxTime);
+    }
+
+    private static String exactly(String value) {
+        return "^" + Pattern.quote(value) + "$";
+    }
+}
@@ -0,0 +1,21 @@
+package com.me.backendchallenge.repository;
+
+import reactor.util.context.Context;
+
+/**
+ * Tipo de carga de uma chamada, levado no Context do Reactor até o repositório. As chamadas marcadas como BULK
+ * (importação em lote, exportação e sincronização) usam o MongoClient de lote, com pool próprio, para não disputar
+ * conexões com as rotas de uma pessoa só.
+ */
+public enum Workload {
+
+    INTERACTIVE, BULK;
+
+    public static Workload from(Context context) {
+        return context.getOrDefault(Workload.class, INTERACTIVE);
+    }
+
+    public Context in(Context context) {
+        return context.put(Workload.class, this);
+    }
+}
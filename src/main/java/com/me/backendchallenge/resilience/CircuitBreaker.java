@@ -0,0 +1,176 @@
+package com.me.backendchallenge.resilience;
+
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker sem locks.
+ * <p>
+ * Fechado, conta as chamadas e falhas de uma janela de tempo e abre quando a taxa de falhas passa do limite (com um
+ * mínimo de chamadas na janela). Aberto, recusa as chamadas até o fim de openDuration e então passa a meio aberto,
+ * liberando só halfOpenCalls chamadas de teste: se todas derem certo ele fecha, e na primeira falha volta a abrir.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final ResilienceProperties.Breaker settings;
+    private final LongSupplier clock;
+    private final BiConsumer<State, State> listener;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicReference<Window> window;
+    private final AtomicInteger trials = new AtomicInteger();
+    private final AtomicInteger successes = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(ResilienceProperties.Breaker settings, BiConsumer<State, State> listener) {
+        this(settings, System::nanoTime, listener);
+    }
+
+    CircuitBreaker(ResilienceProperties.Breaker settings, LongSupplier clock, BiConsumer<State, State> listener) {
+        this.settings = settings;
+        this.clock = clock;
+        this.listener = listener;
+        this.window = new AtomicReference<>(new Window(clock.getAsLong(), 0, 0));
+    }
+
+    /**
+     * Retorna a permissão da chamada, ou null quando ela deve ser recusada.
+     */
+    public Permit tryAcquire() {
+        var current = state.get();
+
+        if (current == State.OPEN) {
+            if (clock.getAsLong() - openedAt < settings.getOpenDuration().toNanos()) {
+                return null;
+            }
+
+            transition(State.OPEN, State.HALF_OPEN);
+            current = state.get();
+        }
+
+        if (current == State.HALF_OPEN) {
+            return trials.getAndUpdate(n -> n > 0 ? n - 1 : n) > 0 ? new Permit(State.HALF_OPEN) : null;
+        }
+
+        return current == State.CLOSED ? new Permit(State.CLOSED) : null;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void onSuccess(State acquiredIn) {
+        if (acquiredIn == State.CLOSED) {
+            record(false);
+        } else if (state.get() == State.HALF_OPEN && successes.incrementAndGet() >= settings.getHalfOpenCalls()) {
+            transition(State.HALF_OPEN, State.CLOSED);
+        }
+    }
+
+    private void onFailure(State acquiredIn) {
+        if (acquiredIn == State.CLOSED) {
+            record(true);
+        } else {
+            transition(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void onCancel(State acquiredIn) {
+        if (acquiredIn == State.HALF_OPEN && state.get() == State.HALF_OPEN) {
+            trials.incrementAndGet();
+        }
+    }
+
+    private void record(boolean failure) {
+        var now = clock.getAsLong();
+        var length = settings.getWindow().toNanos();
+        var updated = window.updateAndGet(previous -> previous.add(now, length, failure));
+
+        if (failure && state.get() == State.CLOSED && updated.calls >= settings.getMinimumCalls()
+                && updated.failures >= updated.calls * settings.getFailureRateThreshold()) {
+            transition(State.CLOSED, State.OPEN);
+        }
+    }
+
+    private void transition(State from, State to) {
+        if (state.get() != from) {
+            return;
+        }
+
+        var now = clock.getAsLong();
+
+        if (to == State.OPEN) {
+            openedAt = now;
+            trials.set(settings.getHalfOpenCalls());
+            successes.set(0);
+        } else if (to == State.CLOSED) {
+            window.set(new Window(now, 0, 0));
+        }
+
+        if (state.compareAndSet(from, to)) {
+            listener.accept(from, to);
+        }
+    }
+
+    /**
+     * Janela fixa de chamadas; reinicia quando o seu tempo acaba.
+     */
+    private static final class Window {
+
+        private final long start;
+        private final int calls;
+        private final int failures;
+
+        private Window(long start, int calls, int failures) {
+            this.start = start;
+            this.calls = calls;
+            this.failures = failures;
+        }
+
+        private Window add(long now, long length, boolean failure) {
+            var base = now - start >= length ? new Window(now, 0, 0) : this;
+
+            return new Window(base.start, base.calls + 1, base.failures + (failure ? 1 : 0));
+        }
+    }
+
+    /**
+     * Permissão de uma chamada. O resultado é registrado só uma vez, mesmo que o stream sinalize mais de um término.
+     */
+    public final class Permit {
+
+        private final State acquiredIn;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(State acquiredIn) {
+            this.acquiredIn = acquiredIn;
+        }
+
+        public void success() {
+            if (done.compareAndSet(false, true)) {
+                onSuccess(acquiredIn);
+            }
+        }
+
+        public void failure() {
+            if (done.compareAndSet(false, true)) {
+                onFailure(acquiredIn);
+            }
+        }
+
+        public void cancel() {
+            if (done.compareAndSet(false, true)) {
+                onCancel(acquiredIn);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.me.backendchallenge.resilience;
+
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+import com.me.backendchallenge.constants.Constants;
+import com.me.backendchallenge.exceptions.ApplicationException;
+import com.me.backendchallenge.exceptions.GatewayTimeoutException;
+import com.me.backendchallenge.exceptions.ServiceUnavailableException;
+import com.me.backendchallenge.repository.Workload;
+import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.MongoWaitQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Protege as chamadas do repositório contra as falhas transitórias do MongoDB (troca de primary, timeout do pool,
+ * rede). Cada tentativa passa pelo {@link CircuitBreaker} da sua {@link Workload}, que recusa as chamadas na hora
+ * enquanto o banco estiver instável; como o lote usa um MongoClient próprio, a fila cheia ou a lentidão do pool de lote
+ * não abre o circuito das rotas interativas. As leituras e o save (upsert pelo _id) são repetidos com backoff exponencial e jitter, desde que nenhum
+ * item tenha sido emitido; as falhas que sobram viram {@link ServiceUnavailableException}. Os tempos esgotados contam
+ * como falha no circuit breaker, já que indicam um banco lento, mas não são repetidos: o deadline da requisição já
+ * acabou.
+ */
+public class RepositoryResilienceInterceptor implements MethodInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RepositoryResilienceInterceptor.class);
+
+    /**
+     * Códigos de erro do servidor que indicam indisponibilidade temporária (troca de primary, nó em recuperação,
+     * shutdown, rede e falhas de leitura/escrita no replica set).
+     */
+    private static final Set<Integer> TRANSIENT_CODES = Set.of(6, 7, 89, 91, 189, 9001, 10107, 11600, 11602, 13435, 13436);
+
+    private final ResilienceProperties.Retry retry;
+    private final MeterRegistry registry;
+    private final Map<Workload, CircuitBreaker> breakers = new EnumMap<>(Workload.class);
+    private final Map<Workload, Counter> rejected = new EnumMap<>(Workload.class);
+
+    public RepositoryResilienceInterceptor(ResilienceProperties settings, MeterRegistry registry) {
+        this.retry = settings.getRetry();
+        this.registry = registry;
+
+        for (var workload : Workload.values()) {
+            var tag = workload.name().toLowerCase();
+            var breaker = new CircuitBreaker(settings.getBreaker(), (from, to) -> onTransition(tag, from, to));
+
+            breakers.put(workload, breaker);
+            rejected.put(workload, registry.counter("person.circuit.rejected", "workload", tag));
+
+            Gauge.builder("person.circuit.state", breaker, b -> b.getState().ordinal())
+                    .description("Estado do circuit breaker do MongoDB (0 fechado, 1 aberto, 2 meio aberto)")
+                    .tag("workload", tag)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var result = invocation.proceed();
+        var method = invocation.getMethod().getName();
+        var retries = isIdempotent(method) ? retry.getMaxRetries() : 0;
+
+        if (result instanceof Mono) {
+            return mono((Mono<?>) result, method, retries);
+        }
+
+        if (result instanceof Flux) {
+            return flux((Flux<?>) result, method, retries);
+        }
+
+        return result;
+    }
+
+    private <T> Mono<T> mono(Mono<T> source, String method, int retries) {
+        var attempt = Mono.subscriberContext().flatMap(context -> {
+            var workload = Workload.from(context);
+            var permit = breakers.get(workload).tryAcquire();
+
+            if (permit == null) {
+                return Mono.<T>error(rejected(workload));
+            }
+
+            return source.doOnSuccess($ -> permit.success())
+                    .doOnError(error -> record(permit, error))
+                    .doOnCancel(permit::cancel);
+        });
+
+        return attempt.retryWhen(errors -> errors.index()
+                .concatMap(failed -> backoff(method, failed.getT1(), failed.getT2(), retries)))
+                .onErrorMap(RepositoryResilienceInterceptor::isTransient, RepositoryResilienceInterceptor::unavailable);
+    }
+
+    private <T> Flux<T> flux(Flux<T> source, String method, int retries) {
+        return Flux.defer(() -> {
+            var emitted = new AtomicBoolean();
+            var attempt = Mono.subscriberContext().flatMapMany(context -> {
+                var workload = Workload.from(context);
+                var permit = breakers.get(workload).tryAcquire();
+
+                if (permit == null) {
+                    return Flux.<T>error(rejected(workload));
+                }
+
+                //O resultado só é registrado no término: um cursor longo pode falhar (ou estourar o maxTimeMS) depois
+                //de já ter emitido itens
+                return source.doOnNext($ -> emitted.set(true))
+                        .doOnComplete(permit::success)
+                        .doOnError(error -> record(permit, error))
+                        .doOnCancel(permit::cancel);
+            });
+
+            return attempt.retryWhen(errors -> errors.index()
+                    .concatMap(failed -> backoff(method, failed.getT1(), failed.getT2(), emitted.get() ? 0 : retries)));
+        }).onErrorMap(RepositoryResilienceInterceptor::isTransient, RepositoryResilienceInterceptor::unavailable);
+    }
+
+    private Mono<Long> backoff(String method, long attempt, Throwable error, int retries) {
+        if (attempt >= retries || !isTransient(error)) {
+            return Mono.error(error);
+        }
+
+        registry.counter("person.repository.retries", "method", method).increment();
+
+        return Mono.delay(jitter(attempt));
+    }
+
+    private Duration jitter(long attempt) {
+        var min = retry.getMinBackoff().toNanos();
+        var ceiling = Math.min(retry.getMaxBackoff().toNanos(), min << Math.min(attempt, 30));
+
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(Math.max(1, ceiling) + 1));
+    }
+
+    private void record(CircuitBreaker.Permit permit, Throwable error) {
+        if (isTransient(error) || isTimeout(error)) {
+            permit.failure();
+        } else {
+            permit.success();
+        }
+    }
+
+    private ServiceUnavailableException rejected(Workload workload) {
+        rejected.get(workload).increment();
+        return new ServiceUnavailableException(Constants.DATABASE_UNAVAILABLE);
+    }
+
+    private void onTransition(String workload, CircuitBreaker.State from, CircuitBreaker.State to) {
+        LOG.warn("Circuit breaker do MongoDB ({}) mudou de {} para {}", workload, from, to);
+
+        registry.counter("person.circuit.transitions", "workload", workload,
+                "from", from.name().toLowerCase(), "to", to.name().toLowerCase()).increment();
+    }
+
+    private static boolean isIdempotent(String method) {
+        return method.startsWith("find") || method.startsWith("count") || method.startsWith("exists")
+                || method.equals("save") || method.equals("saveAll");
+    }
+
+    static boolean isTransient(Throwable error) {
+        if (error instanceof ApplicationException) {
+            return false;
+        }
+
+        for (var cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof MongoSocketException || cause instanceof MongoTimeoutException
+                    || cause instanceof MongoWaitQueueFullException || cause instanceof MongoNotPrimaryException
+                    || cause instanceof MongoNodeIsRecoveringException) {
+                return true;
+            }
+
+            if (cause instanceof MongoException && TRANSIENT_CODES.contains(((MongoException) cause).getCode())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Consulta interrompida pelo maxTimeMS ou pelo deadline enquanto estava em andamento. O deadline que já tinha
+     * acabado antes da consulta (sem causa) não diz nada sobre o banco.
+     */
+    static boolean isTimeout(Throwable error) {
+        if (error instanceof GatewayTimeoutException) {
+            return error.getCause() != null;
+        }
+
+        for (var cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof MongoExecutionTimeoutException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static ServiceUnavailableException unavailable(Throwable cause) {
+        return new ServiceUnavailableException(Constants.DATABASE_UNAVAILABLE, cause);
+    }
+}
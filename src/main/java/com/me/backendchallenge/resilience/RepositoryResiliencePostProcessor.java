@@ -0,0 +1,44 @@
+package com.me.backendchallenge.resilience;
+
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+import com.me.backendchallenge.repository.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * Adiciona o {@link RepositoryResilienceInterceptor} ao proxy do repositório criado pelo Spring Data. Roda antes dos
+ * demais post processors, para que as métricas do repositório fiquem por fora e meçam a chamada com as novas
+ * tentativas.
+ */
+public class RepositoryResiliencePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<ResilienceProperties> properties;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public RepositoryResiliencePostProcessor(ObjectProvider<ResilienceProperties> properties,
+                                             ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof PersonRepository && bean instanceof Advised) {
+            var resilience = properties.getObject();
+
+            if (resilience.isEnabled()) {
+                ((Advised) bean).addAdvice(0, new RepositoryResilienceInterceptor(resilience, registry.getObject()));
+            }
+        }
+
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
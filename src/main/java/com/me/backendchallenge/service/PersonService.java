@@ -2,19 +2,32 @@ package com.me.backendchallenge.service;
 
 import com.me.backendchallenge.endpoint.request.PersonRequest;
 import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
 import com.me.backendchallenge.model.Person;
+import org.bson.RawBsonDocument;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface PersonService {
 
-    Flux<Person> listPersons();
+    Flux<PersonResponse> listPersons();
+
+    Flux<PersonResponse> listPersons(List<String> fields);
+
+    Flux<PersonResponse> findUser(String name, String lastName, String document);
+
+    Flux<PersonResponse> findUser(String name, String lastName, String document, List<String> fields);
+
+    Flux<RawBsonDocument> exportPersons(int batchSize);
 
-    Flux<Person> findUser(String name, String lastName, String document);
+    Flux<PersonResponse> listChanges(LocalDateTime since, String after, int limit);
 
     Mono<Person> newPerson(PersonRequest person);
 
-    Mono<Person> newPersons(final PersonRequest personRequest);
+    Flux<Person> newPersons(Flux<PersonRequest> personRequests);
 
     Mono<Person> updatePerson(UpdatePersonRequest request);
 
@@ -0,0 +1,38 @@
+package com.me.backendchallenge.service.impl;
+
+import com.me.backendchallenge.config.properties.BulkProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Recursos da importação em lote: um scheduler com threads limitadas para a validação das pessoas, que tira o
+ * trabalho de CPU do event loop sem tomar todos os processadores, e quantas pessoas são processadas ao mesmo tempo.
+ */
+@Component
+public class PersonBulkPolicy implements DisposableBean {
+
+    private final Scheduler validation;
+    private final int concurrency;
+
+    @Autowired
+    public PersonBulkPolicy(BulkProperties bulk) {
+        this.validation = Schedulers.newParallel("person-bulk-validation", bulk.getValidationThreads(), true);
+        this.concurrency = bulk.getConcurrency();
+    }
+
+    public Scheduler validation() {
+        return validation;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void destroy() {
+        validation.dispose();
+    }
+}
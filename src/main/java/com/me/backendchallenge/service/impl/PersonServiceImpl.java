@@ -1,49 +1,104 @@
 package com.me.backendchallenge.service.impl;
 
+import com.me.backendchallenge.cache.PersonCache;
 import com.me.backendchallenge.constants.Constants;
 import com.me.backendchallenge.endpoint.request.PersonRequest;
 import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
+import com.me.backendchallenge.endpoint.response.PersonProjectionResponse;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
 import com.me.backendchallenge.exceptions.BadRequestException;
 import com.me.backendchallenge.exceptions.ConflictException;
 import com.me.backendchallenge.exceptions.NotFoundException;
+import com.me.backendchallenge.feed.PersonChangeEvent;
+import com.me.backendchallenge.feed.PersonChangeFeed;
+import com.me.backendchallenge.metrics.PersonMetrics;
+import com.me.backendchallenge.metrics.PipelineTracer;
 import com.me.backendchallenge.model.Person;
+import com.me.backendchallenge.model.id.IdGenerator;
 import com.me.backendchallenge.repository.PersonRepository;
+import com.me.backendchallenge.repository.Workload;
 import com.me.backendchallenge.repository.item.PersonItem;
 import com.me.backendchallenge.service.PersonService;
+import com.me.backendchallenge.util.SingleFlight;
+import com.me.backendchallenge.util.time.TimeSource;
+import com.mongodb.WriteConcern;
+import org.bson.RawBsonDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static com.me.backendchallenge.util.ValidatorUtil.*;
 import static java.lang.String.format;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 @Service
 public class PersonServiceImpl implements PersonService {
 
     private static final Logger LOG = LoggerFactory.getLogger(PersonServiceImpl.class);
 
+    private static final Set<String> PROJECTION_FIELDS = Set.of("id", "name", "lastName", "document", "birthDate",
+            "address", "phones", "emails", "active", "createdAt", "updatedAt");
+
     private final PersonRepository repository;
+    private final PersonMetrics metrics;
+    private final PipelineTracer tracer;
+    private final IdGenerator idGenerator;
+    private final TimeSource timeSource;
+    private final PersonWritePolicy writePolicy;
+    private final PersonCache cache;
+    private final PersonChangeFeed feed;
+    private final PersonBulkPolicy bulkPolicy;
+    private final SingleFlight<String, PersonItem> lookups = new SingleFlight<>();
+    private final SingleFlight<String, PersonResponse> views = new SingleFlight<>();
 
     @Autowired
-    public PersonServiceImpl(PersonRepository repository) {
+    public PersonServiceImpl(PersonRepository repository, PersonMetrics metrics, PipelineTracer tracer,
+                             IdGenerator idGenerator, TimeSource timeSource, PersonWritePolicy writePolicy,
+                             PersonCache cache, PersonChangeFeed feed, PersonBulkPolicy bulkPolicy) {
         this.repository = repository;
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.idGenerator = idGenerator;
+        this.timeSource = timeSource;
+        this.writePolicy = writePolicy;
+        this.cache = cache;
+        this.feed = feed;
+        this.bulkPolicy = bulkPolicy;
     }
 
     @Override
-    public Flux<Person> listPersons() {
-        return repository.findAll()
-                .map(Person::new);
+    public Flux<PersonResponse> listPersons() {
+        return repository.findAllBy(PersonResponse.class);
     }
 
+    /**
+     * A busca por CPF é agrupada por chave: as requisições simultâneas pelo mesmo CPF fazem uma única consulta, seja
+     * ela a carga do cache ou a leitura da projeção direto do MongoDB.
+     */
     @Override
-    public Flux<Person> findUser(final String name, final String lastName, final String document) {
+    public Flux<PersonResponse> findUser(final String name, final String lastName, final String document) {
         if (!isNull(document) && validateDocument(document)) {
-            return Flux.from(findByDocument(document));
+            return Flux.from(cache.isActive() ?
+                    cache.findByDocument(document, $ -> lookups.execute("findByDocument:" + document, key -> repository.findByDocument(document)))
+                            .map(Person::new)
+                            .map(PersonResponse::new) :
+                    views.execute("findByDocument:" + document, $ -> repository.findByDocument(document, PersonResponse.class)));
         }
 
         if (!isBlank(name)) {
@@ -58,57 +113,137 @@ public class PersonServiceImpl implements PersonService {
     }
 
     @Override
-    public Mono<Person> newPerson(final PersonRequest personRequest) {
-        LOG.info("Validando person para inserção [{}]", personRequest);
+    public Flux<PersonResponse> listPersons(final List<String> fields) {
+        if (isEmpty(fields)) {
+            return listPersons();
+        }
 
-        return buildPerson(personRequest).flatMap(person ->
-                findByDocument(person.getDocument())
-                        .flatMap(p -> Mono.error(new ConflictException(format("CPF %s já cadastrado.", personRequest.getDocument()))))
+        return findFields(new Criteria(), fields);
+    }
 
-                        .then(Flux.fromStream(person.getEmails().stream())
-                                .flatMap(this::checkDuplicateEmail)
-                                .then())
+    @Override
+    public Flux<PersonResponse> findUser(final String name, final String lastName, final String document,
+                                         final List<String> fields) {
+        if (isEmpty(fields)) {
+            return findUser(name, lastName, document);
+        }
+
+        return searchCriteria(name, lastName, document)
+                .map(criteria -> findFields(criteria, fields))
+                .orElse(Flux.empty());
+    }
+
+    @Override
+    public Flux<RawBsonDocument> exportPersons(final int batchSize) {
+        return repository.findAllRaw(batchSize)
+                .subscriberContext(Workload.BULK::in);
+    }
+
+    @Override
+    public Flux<PersonResponse> listChanges(final LocalDateTime since, final String after, final int limit) {
+        if (limit < 0) {
+            return Flux.error(new BadRequestException(Constants.createErrorMessage(String.valueOf(limit), Constants.INVALID_LIMIT)));
+        }
 
-                        .then(save(person))
-                        .map(Person::new));
+        return repository.findChangedSince(since, after, limit, PersonResponse.class)
+                .subscriberContext(Workload.BULK::in);
     }
 
     @Override
-    public Mono<Person> newPersons(final PersonRequest personRequest) {
-        return newPerson(personRequest).onErrorResume($ -> Mono.empty());
+    public Mono<Person> newPerson(final PersonRequest personRequest) {
+        return create(personRequest, writePolicy.create(), Schedulers.immediate());
+    }
+
+    /**
+     * As pessoas do lote são gravadas com o WriteConcern de bulk e devolvidas conforme são salvas. Quando configurado,
+     * o lote é conferido no MongoDB em blocos de verifyChunkSize: o que não for encontrado é regravado e, ao final,
+     * uma escrita marcadora com o WriteConcern de verificação garante a durabilidade das escritas anteriores. A
+     * validação roda no scheduler de lote e as consultas usam o MongoClient de lote.
+     */
+    @Override
+    public Flux<Person> newPersons(final Flux<PersonRequest> personRequests) {
+        if (!writePolicy.isVerifyBulk()) {
+            return createAll(personRequests).subscriberContext(Workload.BULK::in);
+        }
+
+        return Flux.defer(() -> {
+            var saved = new AtomicBoolean();
+
+            return createAll(personRequests)
+                    .doOnNext($ -> saved.set(true))
+                    .window(writePolicy.verifyChunkSize())
+                    .concatMap(window -> Flux.defer(() -> {
+                        var chunk = new ArrayList<Person>();
+
+                        return window.doOnNext(chunk::add)
+                                .concatWith(Mono.defer(() -> verify(chunk)).then(Mono.empty()));
+                    }), 1)
+                    .concatWith(Mono.defer(() -> saved.get() ? repository.writeBarrier(writePolicy.verify()) : Mono.empty())
+                            .then(Mono.empty()));
+        }).subscriberContext(Workload.BULK::in);
+    }
+
+    private Flux<Person> createAll(final Flux<PersonRequest> personRequests) {
+        return personRequests.flatMap(request -> create(request, writePolicy.bulk(), bulkPolicy.validation())
+                .onErrorResume($ -> Mono.empty()), bulkPolicy.concurrency());
+    }
+
+    private Mono<Person> create(final PersonRequest personRequest, final WriteConcern writeConcern,
+                                final Scheduler validation) {
+        LOG.debug("Validando person para inserção [{}]", personRequest);
+
+        return measured("create", () -> tracer.traced("create", tracer.stage("create", "buildPerson", buildPerson(personRequest).subscribeOn(validation)).flatMap(person ->
+                tracer.stage("create", "findByDocument", findByDocument(person.getDocument()))
+                        .flatMap(p -> Mono.error(new ConflictException(format("CPF %s já cadastrado.", personRequest.getDocument()))))
+
+                        .then(tracer.stage("create", "checkDuplicateEmail", Flux.fromStream(person.getEmails().stream())
+                                .flatMap(this::checkDuplicateEmail)
+                                .then()))
+
+                        .then(tracer.stage("create", "save", save(person, writeConcern)))
+                        .map(Person::new)
+                        .doOnNext(created -> feed.publish(PersonChangeEvent.Type.CREATED, created)))));
     }
 
     @Override
     public Mono<Person> updatePerson(final UpdatePersonRequest personRequest) {
-        LOG.info("Validando person para alteração [{}]", personRequest);
+        LOG.debug("Validando person para alteração [{}]", personRequest);
 
-        return checkId(personRequest.getId())
+        return measured("update", () -> tracer.traced("update", tracer.stage("update", "findById", checkId(personRequest.getId()))
                 .switchIfEmpty(Mono.error(new NotFoundException(format("Pessoa com o identificador %s não econtrada.", personRequest.getId()))))
-                .flatMap(person -> build(person, personRequest)
-                        .flatMap(personUpdated -> findByDocument(personRequest.getDocument())
+                .flatMap(person -> tracer.stage("update", "buildPerson", build(person, personRequest))
+                        .flatMap(personUpdated -> tracer.stage("update", "findByDocument", findByDocument(personRequest.getDocument()))
                                 .flatMap(existPerson -> validateDocumentUpdate(existPerson, personRequest))
 
-                                .then(Flux.fromStream(personUpdated.getEmails().stream())
+                                .then(tracer.stage("update", "checkDuplicateEmail", Flux.fromStream(personUpdated.getEmails().stream())
                                         .flatMap(email -> checkDuplicateEmail(email, personUpdated))
-                                        .then())
+                                        .then()))
 
-                                .then(this.save(personUpdated))
-                                .map(Person::new)));
+                                .then(tracer.stage("update", "save", this.save(personUpdated, writePolicy.update(), List.of(person, personUpdated))))
+                                .map(Person::new)
+                                .doOnNext(updated -> feed.publish(PersonChangeEvent.Type.UPDATED, updated))))));
     }
 
     @Override
     public Mono<Person> inactivatePerson(final String id) {
         LOG.info("Validando person para inativação com o id [{}]", id);
 
-        return checkId(id)
+        return measured("inactivate", () -> checkId(id)
                 .switchIfEmpty(Mono.empty())
-                .map(Person::inactivate)
-                .flatMap(this::save)
-                .map(Person::new);
+                .map(person -> person.inactivate(timeSource))
+                .flatMap(person -> save(person, writePolicy.inactivate()))
+                .map(Person::new)
+                .doOnNext(inactivated -> feed.publish(PersonChangeEvent.Type.INACTIVATED, inactivated)));
+    }
+
+    private <T> Mono<T> measured(final String operation, final Supplier<Mono<T>> pipeline) {
+        return Mono.defer(pipeline)
+                .doOnSuccess(result -> metrics.record(operation, result == null ? PersonMetrics.NOT_FOUND : PersonMetrics.SUCCESS))
+                .doOnError(error -> metrics.record(operation, error));
     }
 
     private Person build(PersonRequest personRequest) {
-        return new Person.Builder()
+        return new Person.Builder(idGenerator, timeSource)
                 .withName(personRequest.getName())
                 .withLastName(personRequest.getLastName())
                 .withDocument(personRequest.getDocument())
@@ -120,7 +255,7 @@ public class PersonServiceImpl implements PersonService {
     }
 
     private Mono<Person> build(Person person, UpdatePersonRequest personRequest) {
-        return Mono.just(new Person.Builder()
+        return Mono.just(new Person.Builder(idGenerator, timeSource)
                 .withId(person.getId())
                 .withName(personRequest.getName())
                 .withLastName(personRequest.getLastName())
@@ -151,32 +286,110 @@ public class PersonServiceImpl implements PersonService {
                 .orElseThrow(() -> new BadRequestException(Constants.ID_IS_BLANK));
     }
 
-    private Mono<PersonItem> save(final Person person) {
-        return repository.save(new PersonItem(person));
+    private Mono<PersonItem> save(final Person person, final WriteConcern writeConcern) {
+        return save(person, writeConcern, List.of(person));
+    }
+
+    /**
+     * Depois da gravação, descarta do cache e das buscas em andamento só as chaves das versões informadas: na
+     * alteração, também as da versão anterior, cujo CPF e e-mails podem ter mudado.
+     */
+    private Mono<PersonItem> save(final Person person, final WriteConcern writeConcern, final List<Person> versions) {
+        return repository.save(new PersonItem(person), writeConcern)
+                .doOnSuccess($ -> cache.invalidate(person.getId()))
+                .flatMap(item -> {
+                    var keys = lookupKeys(versions);
+                    return lookups.forget(keys).then(views.forget(keys)).thenReturn(item);
+                });
+    }
+
+    private static List<String> lookupKeys(final List<Person> versions) {
+        var keys = new ArrayList<String>();
+
+        for (var version : versions) {
+            keys.add("findById:" + version.getId());
+            keys.add("findByDocument:" + version.getDocument());
+            Optional.ofNullable(version.getEmails()).ifPresent(emails -> emails.forEach(email -> keys.add("findByEmails:" + email)));
+        }
+
+        return keys;
     }
 
+    private Mono<Void> verify(final List<Person> chunk) {
+        if (chunk.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return repository.findAllById(chunk.stream().map(Person::getId).collect(Collectors.toList()))
+                .map(PersonItem::getId)
+                .collect(Collectors.toSet())
+                .flatMapMany(found -> Flux.fromIterable(chunk)
+                        .filter(person -> !found.contains(person.getId())))
+                .doOnNext(person -> LOG.warn("Person [{}] não encontrado na verificação do lote, regravando.", person.getId()))
+                .flatMap(person -> save(person, writePolicy.verify()))
+                .then();
+    }
+
+    /**
+     * As buscas de validação do cadastro e da alteração não usam o cache, que pode estar atrasado em relação ao
+     * change stream, e vão direto ao primary.
+     */
     private Mono<Person> findById(final String id) {
-        return repository.findById(id)
+        return lookups.execute("findById:" + id, $ -> repository.findById(id))
                 .map(Person::new);
     }
 
     private Mono<Person> findByDocument(final String document) {
-        return repository.findByDocument(document)
+        return lookups.execute("findByDocument:" + document, $ -> repository.findByDocument(document))
                 .map(Person::new);
     }
 
-    private Flux<Person> findByName(final String name) {
-        return repository.findByNameIgnoreCase(name)
-                .map(Person::new);
+    private Flux<PersonResponse> findByName(final String name) {
+        return repository.findByNameIgnoreCase(name, PersonResponse.class);
     }
 
-    private Flux<Person> findByLastName(final String lastName) {
-        return repository.findByLastNameIgnoreCase(lastName)
-                .map(Person::new);
+    private Flux<PersonResponse> findByLastName(final String lastName) {
+        return repository.findByLastNameIgnoreCase(lastName, PersonResponse.class);
+    }
+
+    private Flux<PersonResponse> findFields(final Criteria criteria, final List<String> fields) {
+        return Flux.defer(() -> repository.findFields(criteria, checkFields(fields), PersonProjectionResponse.class)
+                .cast(PersonResponse.class));
+    }
+
+    private List<String> checkFields(final List<String> fields) {
+        fields.stream()
+                .filter(field -> !PROJECTION_FIELDS.contains(field))
+                .findFirst()
+                .ifPresent(field -> {
+                    throw new BadRequestException(Constants.createErrorMessage(field, Constants.INVALID_FIELD));
+                });
+
+        return fields;
+    }
+
+    private Optional<Criteria> searchCriteria(final String name, final String lastName, final String document) {
+        if (!isNull(document) && validateDocument(document)) {
+            return Optional.of(where("document").is(document));
+        }
+
+        if (!isBlank(name)) {
+            return Optional.of(where("name").regex(exactly(name), "i"));
+        }
+
+        if (!isBlank(lastName)) {
+            return Optional.of(where("lastName").regex(exactly(lastName), "i"));
+        }
+
+        return Optional.empty();
+    }
+
+    private static String exactly(final String value) {
+        return "^" + Pattern.quote(value) + "$";
     }
 
     private Mono<Person> findByEmail(final String email) {
-        return repository.findByEmails(email)
+        return lookups.execute("findByEmails:" + email, $ -> repository.findByEmails(email))
                 .map(Person::new);
     }
 
@@ -0,0 +1,80 @@
+package com.me.backendchallenge.service.impl;
+
+import com.me.backendchallenge.config.properties.WritesProperties;
+import com.mongodb.WriteConcern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WriteConcern de cada operação de escrita do service, conforme a durabilidade que ela exige: alterações e
+ * inativações aguardam a maioria, a importação em lote grava com w:1 sem journal e é verificada no final.
+ */
+@Component
+public class PersonWritePolicy {
+
+    private final WriteConcern create;
+    private final WriteConcern update;
+    private final WriteConcern inactivate;
+    private final WriteConcern bulk;
+    private final WriteConcern verify;
+    private final boolean verifyBulk;
+    private final int verifyChunkSize;
+
+    @Autowired
+    public PersonWritePolicy(WritesProperties writes) {
+        this.create = writeConcern(writes.getCreate());
+        this.update = writeConcern(writes.getUpdate());
+        this.inactivate = writeConcern(writes.getInactivate());
+        this.bulk = writeConcern(writes.getBulk());
+        this.verify = writeConcern(writes.getVerify());
+        this.verifyBulk = writes.isVerifyBulk();
+        this.verifyChunkSize = writes.getVerifyChunkSize();
+    }
+
+    public WriteConcern create() {
+        return create;
+    }
+
+    public WriteConcern update() {
+        return update;
+    }
+
+    public WriteConcern inactivate() {
+        return inactivate;
+    }
+
+    public WriteConcern bulk() {
+        return bulk;
+    }
+
+    public WriteConcern verify() {
+        return verify;
+    }
+
+    public boolean isVerifyBulk() {
+        return verifyBulk;
+    }
+
+    public int verifyChunkSize() {
+        return verifyChunkSize;
+    }
+
+    private static WriteConcern writeConcern(WritesProperties.Durability durability) {
+        var w = durability.getW();
+        var writeConcern = w.chars().allMatch(Character::isDigit) ?
+                new WriteConcern(Integer.parseInt(w)) :
+                new WriteConcern(w);
+
+        if (durability.getJournal() != null) {
+            writeConcern = writeConcern.withJournal(durability.getJournal());
+        }
+
+        if (durability.getTimeout() != null) {
+            writeConcern = writeConcern.withWTimeout(durability.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        return writeConcern;
+    }
+}
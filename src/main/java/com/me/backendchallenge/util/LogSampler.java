@@ -0,0 +1,25 @@
+package com.me.backendchallenge.util;
+
+import com.me.backendchallenge.config.properties.LoggingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Amostragem dos logs das rotas de alto volume (buscas e exportação), sem estado compartilhado entre as threads.
+ */
+@Component
+public class LogSampler {
+
+    private final double sampleRate;
+
+    @Autowired
+    public LogSampler(LoggingProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+    }
+
+    public boolean sample() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,95 @@
+package com.me.backendchallenge.util;
+
+import com.me.backendchallenge.exceptions.InternalServerErrorException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.bson.BsonBinaryReader;
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public class NdjsonUtil {
+
+    private static final byte NEW_LINE = '\n';
+
+    private static final JsonWriterSettings SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.RELAXED)
+            .dateTimeConverter((value, writer) -> writer.writeString(Instant.ofEpochMilli(value).toString()))
+            .build();
+
+    /**
+     * Converte os documentos BSON em NDJSON, escrevendo cada bloco de {@code chunkSize} documentos direto em um único
+     * DataBuffer, sem criar Strings ou objetos intermediários.
+     */
+    public static Flux<DataBuffer> toNdjson(final Flux<RawBsonDocument> documents, final DataBufferFactory bufferFactory,
+                                            final int chunkSize) {
+
+        return documents.buffer(chunkSize)
+                .map(chunk -> write(chunk, bufferFactory));
+    }
+
+    /**
+     * Agrupa os objetos em blocos de até {@code chunkSize} elementos ou {@code maxDelay} de espera, serializando cada
+     * bloco em um único DataBuffer, para que a resposta em stream não faça uma escrita por elemento.
+     */
+    public static <T> Flux<DataBuffer> toNdjson(final Flux<T> values, final ObjectWriter writer,
+                                                final DataBufferFactory bufferFactory, final int chunkSize,
+                                                final Duration maxDelay) {
+
+        var lineWriter = writer.withRootValueSeparator("\n");
+
+        return values.bufferTimeout(chunkSize, maxDelay)
+                .map(chunk -> write(chunk, lineWriter, bufferFactory));
+    }
+
+    private static DataBuffer write(final List<?> chunk, final ObjectWriter writer,
+                                    final DataBufferFactory bufferFactory) {
+
+        var buffer = bufferFactory.allocateBuffer();
+
+        try (var sequence = writer.writeValues(buffer.asOutputStream())) {
+            sequence.writeAll(chunk);
+
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new InternalServerErrorException(e.getMessage());
+        }
+
+        return buffer.write(NEW_LINE);
+    }
+
+    private static DataBuffer write(final List<RawBsonDocument> chunk, final DataBufferFactory bufferFactory) {
+        var capacity = chunk.stream()
+                .mapToInt(document -> document.getByteBuffer().remaining())
+                .sum();
+
+        var buffer = bufferFactory.allocateBuffer(capacity);
+
+        try {
+            var writer = new OutputStreamWriter(buffer.asOutputStream(), StandardCharsets.UTF_8);
+
+            for (RawBsonDocument document : chunk) {
+                new JsonWriter(writer, SETTINGS).pipe(new BsonBinaryReader(document.getByteBuffer().asNIO()));
+                writer.write('\n');
+            }
+
+            writer.flush();
+            return buffer;
+
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new InternalServerErrorException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.me.backendchallenge.util;
+
+import com.me.backendchallenge.deadline.Deadline;
+import com.me.backendchallenge.repository.Workload;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Agrupa as buscas concorrentes pela mesma chave em uma única execução: quem chega enquanto a busca está em andamento
+ * recebe o mesmo resultado, e a chave é liberada assim que ela termina. Nenhum resultado é mantido depois disso.
+ * <p>
+ * {@link #forget(Collection)} deve ser chamado depois de cada escrita com as chaves do registro gravado, para que as
+ * buscas iniciadas a partir dela não se juntem a uma execução que pode ter lido a versão anterior.
+ * <p>
+ * A execução compartilhada roda sem o {@link Deadline} de quem a iniciou, pois ele não vale para quem se junta depois:
+ * cada chamador aplica o seu próprio deadline sobre o resultado e, quando ele acaba, só aquele chamador recebe 504.
+ * As execuções são separadas por {@link Workload}, para que uma busca interativa não espere pela fila do pool de lote
+ * nem o lote ocupe o pool interativo.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<Workload, ConcurrentMap<K, Mono<V>>> flights = new EnumMap<>(Workload.class);
+
+    public SingleFlight() {
+        for (var workload : Workload.values()) {
+            flights.put(workload, new ConcurrentHashMap<>());
+        }
+    }
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Deadline.await(Mono.subscriberContext().flatMap(context -> {
+            var flights = this.flights.get(Workload.from(context));
+            return flights.computeIfAbsent(key, k -> start(flights, k, loader));
+        }));
+    }
+
+    /**
+     * Libera as chaves informadas na carga do Context; as execuções das demais chaves continuam sendo compartilhadas.
+     */
+    public Mono<Void> forget(Collection<K> keys) {
+        return Mono.subscriberContext()
+                .doOnNext(context -> flights.get(Workload.from(context)).keySet().removeAll(keys))
+                .then();
+    }
+
+    int inFlight() {
+        return flights.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private Mono<V> start(ConcurrentMap<K, Mono<V>> flights, K key, Function<K, Mono<V>> loader) {
+        var flight = new AtomicReference<Mono<V>>();
+
+        var shared = Mono.defer(() -> loader.apply(key))
+                .subscriberContext(context -> context.delete(Deadline.class))
+                .doFinally($ -> flights.remove(key, flight.get()))
+                .cache();
+
+        flight.set(shared);
+        return shared;
+    }
+}
@@ -38,7 +38,11 @@ public class ValidatorUtil {
     }
 
     public static boolean isFuture(final LocalDate date) {
-        return date.isAfter(LocalDate.now());
+        return isFuture(date, LocalDate.now());
+    }
+
+    public static boolean isFuture(final LocalDate date, final LocalDate today) {
+        return date.isAfter(today);
     }
 
     public static boolean isValidPhone(final String phone) {
@@ -0,0 +1,68 @@
+package com.me.backendchallenge.util.time;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém o horário local já convertido em memória e o atualiza a cada {@code resolution} numa thread própria. As
+ * leituras custam um acesso a campo volatile, sem consultar o relógio do sistema nem as regras do fuso por registro.
+ */
+public class CachedTimeSource implements TimeSource, AutoCloseable {
+
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+
+    private volatile Snapshot snapshot;
+
+    public CachedTimeSource(Clock clock, Duration resolution) {
+        if (resolution.toMillis() < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Resolução %s inválida para o relógio em cache, o mínimo é de 1ms.", resolution));
+        }
+
+        this.clock = clock;
+        this.snapshot = new Snapshot(LocalDateTime.now(clock));
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "cached-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        var period = resolution.toMillis();
+        executor.scheduleAtFixedRate(this::refresh, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    void refresh() {
+        snapshot = new Snapshot(LocalDateTime.now(clock));
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return snapshot.now;
+    }
+
+    @Override
+    public LocalDate today() {
+        return snapshot.today;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static class Snapshot {
+        private final LocalDateTime now;
+        private final LocalDate today;
+
+        private Snapshot(LocalDateTime now) {
+            this.now = now;
+            this.today = now.toLocalDate();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.me.backendchallenge.util.time;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Consulta o {@link Clock} a cada chamada. Com {@link Clock#fixed} os timestamps ficam determinísticos nos testes.
+ */
+public class ClockTimeSource implements TimeSource {
+
+    private final Clock clock;
+
+    public ClockTimeSource(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+}
@@ -0,0 +1,14 @@
+package com.me.backendchallenge.util.time;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface TimeSource {
+
+    LocalDateTime now();
+
+    default LocalDate today() {
+        return now().toLocalDate();
+    }
+
+}
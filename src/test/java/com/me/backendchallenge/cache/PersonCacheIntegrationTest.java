@@ -0,0 +1,144 @@
+package com.me.backendchallenge.cache;
+
+import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.model.Person;
+import com.me.backendchallenge.model.id.IdGenerator;
+import com.me.backendchallenge.repository.PersonRepository;
+import com.me.backendchallenge.repository.item.PersonItem;
+import com.me.backendchallenge.util.time.TimeSource;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Sobe o MongoDB embarcado como replica set de um nó, requisito do change stream, e altera os documentos direto na
+ * coleção, como faria outra instância da aplicação.
+ */
+@ExtendWith(SpringExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.mongodb.embedded.version=4.0.2",
+        "spring.mongodb.embedded.storage.repl-set-name=rs0",
+        "person.cache.enabled=true",
+        "person.cache.min-backoff=100ms",
+        "person.cache.max-backoff=500ms"
+})
+@ActiveProfiles("test")
+class PersonCacheIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private MongoClient client;
+
+    @Autowired
+    private ReactiveMongoTemplate template;
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Autowired
+    private PersonCache cache;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private TimeSource timeSource;
+
+    @BeforeAll
+    void initiateReplicaSet() {
+        Mono.from(client.getDatabase("admin").runCommand(new Document("replSetInitiate", new Document())))
+                .onErrorResume($ -> Mono.empty())
+                .block();
+
+        await(() -> Mono.from(client.getDatabase("admin").runCommand(new Document("isMaster", 1)))
+                .map(result -> result.getBoolean("ismaster", false))
+                .onErrorReturn(false)
+                .block());
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll().block();
+        await(cache::isActive);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o cache quando o documento for alterado por outra instância.")
+    void test1() {
+        var item = cached();
+
+        template.updateFirst(query(where("_id").is(item.getId())), Update.update("name", "Alterado"), PersonItem.class)
+                .block();
+
+        await(() -> "Alterado".equals(cache.findById(item.getId(), $ -> Mono.empty())
+                .map(PersonItem::getName)
+                .block()));
+    }
+
+    @Test
+    @DisplayName("Deve remover do cache o documento excluído por outra instância.")
+    void test2() {
+        var item = cached();
+
+        template.remove(query(where("_id").is(item.getId())), PersonItem.class).block();
+
+        await(() -> cache.findById(item.getId(), $ -> Mono.empty()).block() == null);
+    }
+
+    private PersonItem cached() {
+        var item = repository.save(new PersonItem(new Person.Builder(idGenerator, timeSource)
+                .withName(TestsConstants.NAME)
+                .withLastName(TestsConstants.LAST_NAME)
+                .withDocument(TestsConstants.DOCUMENT)
+                .withBirthDate(TestsConstants.BIRTH_DATE)
+                .withAddress(TestsConstants.ADDRESS)
+                .withPhones(Collections.singletonList(TestsConstants.PHONE))
+                .withEmails(Collections.singletonList(TestsConstants.E_MAIL))
+                .build()))
+                .block();
+
+        await(() -> {
+            cache.findById(item.getId(), repository::findById).block();
+            return cache.findById(item.getId(), $ -> Mono.empty()).block() != null;
+        });
+
+        return item;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TIMEOUT.toNanos();
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condição não atendida no tempo limite.");
+
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
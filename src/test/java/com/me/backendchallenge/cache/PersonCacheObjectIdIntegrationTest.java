@@ -0,0 +1,25 @@
+package com.me.backendchallenge.cache;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Repete os testes do cache com a estratégia object-id, em que o _id chega no change stream como ObjectId.
+ */
+@ExtendWith(SpringExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.mongodb.embedded.version=4.0.2",
+        "spring.mongodb.embedded.storage.repl-set-name=rs0",
+        "person.cache.enabled=true",
+        "person.cache.min-backoff=100ms",
+        "person.cache.max-backoff=500ms",
+        "person.id.strategy=object-id"
+})
+@ActiveProfiles("test")
+class PersonCacheObjectIdIntegrationTest extends PersonCacheIntegrationTest {
+
+}
@@ -0,0 +1,96 @@
+package com.me.backendchallenge.cache;
+
+import com.me.backendchallenge.config.properties.CacheProperties;
+import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.repository.Workload;
+import com.me.backendchallenge.repository.item.PersonItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PersonCacheTest {
+
+    private PersonCache cache;
+
+    @BeforeEach
+    void init() {
+        var properties = new CacheProperties();
+        properties.setEnabled(true);
+
+        cache = new PersonCache(properties);
+        cache.activate();
+    }
+
+    @Test
+    @DisplayName("Deve manter o carregamento de um id quando outro id for alterado durante a leitura")
+    void test1() {
+        var loading = MonoProcessor.<PersonItem>create();
+        var load = cache.findById("1", $ -> loading).toFuture();
+
+        cache.invalidate("2");
+        loading.onNext(item("1"));
+
+        assertNotNull(load.join());
+        assertNotNull(cached("1"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o carregamento de um id alterado durante a leitura")
+    void test2() {
+        var loading = MonoProcessor.<PersonItem>create();
+        var load = cache.findById("1", $ -> loading).toFuture();
+
+        cache.invalidate("1");
+        loading.onNext(item("1"));
+
+        assertNotNull(load.join());
+        assertNull(cached("1"));
+
+        cache.findById("1", $ -> Mono.just(item("1"))).block();
+
+        assertNotNull(cached("1"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar todos os carregamentos em andamento quando o cache for limpo")
+    void test3() {
+        var loading = MonoProcessor.<PersonItem>create();
+        var load = cache.findById("1", $ -> loading).toFuture();
+
+        cache.clear();
+        loading.onNext(item("1"));
+
+        assertNotNull(load.join());
+        assertNull(cached("1"));
+    }
+
+    @Test
+    @DisplayName("Não deve ler nem preencher o cache nas buscas de lote")
+    void test4() {
+        cache.findById("1", $ -> Mono.just(item("1"))).block();
+
+        var bulk = cache.findById("1", $ -> Mono.empty()).subscriberContext(Workload.BULK::in).block();
+        cache.findById("2", $ -> Mono.just(item("2"))).subscriberContext(Workload.BULK::in).block();
+
+        assertNull(bulk);
+        assertNotNull(cached("1"));
+        assertNull(cached("2"));
+    }
+
+    private PersonItem cached(String id) {
+        return cache.findById(id, $ -> Mono.empty()).block();
+    }
+
+    private static PersonItem item(String id) {
+        var item = new PersonItem();
+        item.setId(id);
+        item.setDocument(TestsConstants.DOCUMENT);
+
+        return item;
+    }
+}
@@ -0,0 +1,41 @@
+package com.me.backendchallenge.config;
+
+import com.me.backendchallenge.util.time.CachedTimeSource;
+import com.me.backendchallenge.util.time.ClockTimeSource;
+import com.me.backendchallenge.util.time.TimeSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(ApplicationConfig.class);
+
+    @Test
+    @DisplayName("Deve usar o relógio do sistema quando o modo não for informado")
+    void test1() {
+        runner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertTrue(context.getBean(TimeSource.class) instanceof ClockTimeSource);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve usar o relógio em cache quando person.clock.mode for cached")
+    void test2() {
+        runner.withPropertyValues("person.clock.mode=cached", "person.clock.resolution=5ms")
+                .run(context -> assertTrue(context.getBean(TimeSource.class) instanceof CachedTimeSource));
+    }
+
+    @Test
+    @DisplayName("Não deve subir o contexto com o relógio em cache e resolução menor que 1ms")
+    void test3() {
+        runner.withPropertyValues("person.clock.mode=cached", "person.clock.resolution=500us")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+}
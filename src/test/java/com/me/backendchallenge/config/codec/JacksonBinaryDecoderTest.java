@@ -0,0 +1,69 @@
+package com.me.backendchallenge.config.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.me.backendchallenge.exceptions.PayloadTooLargeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.me.backendchallenge.constants.Constants.APPLICATION_CBOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JacksonBinaryDecoderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    @DisplayName("Deve deserializar um corpo recebido em vários pedaços dentro do limite")
+    void test1() throws Exception {
+        var bytes = mapper.writeValueAsBytes(Map.of("name", "Maria"));
+        var decoder = new JacksonBinaryDecoder(mapper, bytes.length, APPLICATION_CBOR);
+
+        StepVerifier.create(decoder.decodeToMono(split(bytes, 3), ResolvableType.forClass(Map.class),
+                APPLICATION_CBOR, Map.of()))
+                .expectNext(Map.of("name", "Maria"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 413 um corpo acima do limite sem ler o restante")
+    void test2() throws Exception {
+        var bytes = mapper.writeValueAsBytes(Map.of("name", "Maria da Silva"));
+        var decoder = new JacksonBinaryDecoder(mapper, 8, APPLICATION_CBOR);
+        var read = new AtomicInteger();
+
+        var body = split(bytes, 4).doOnNext(buffer -> read.incrementAndGet());
+
+        StepVerifier.create(decoder.decode(body, ResolvableType.forClass(Map.class), APPLICATION_CBOR, Map.of()))
+                .expectErrorSatisfies(error -> assertEquals(413, ((PayloadTooLargeException) error).getHttpCode().intValue()))
+                .verify();
+
+        assertEquals(3, read.get());
+    }
+
+    @Test
+    @DisplayName("Deve completar sem valor quando o corpo estiver vazio")
+    void test3() {
+        var decoder = new JacksonBinaryDecoder(mapper, 8, APPLICATION_CBOR);
+
+        StepVerifier.create(decoder.decodeToMono(Flux.empty(), ResolvableType.forClass(Map.class),
+                APPLICATION_CBOR, Map.of()))
+                .verifyComplete();
+    }
+
+    private Flux<DataBuffer> split(byte[] bytes, int size) {
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(index -> bufferFactory.wrap(Arrays.copyOfRange(bytes, index * size,
+                        Math.min(bytes.length, (index + 1) * size))));
+    }
+}
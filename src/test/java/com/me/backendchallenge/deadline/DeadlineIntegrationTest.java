@@ -0,0 +1,154 @@
+package com.me.backendchallenge.deadline;
+
+import com.me.backendchallenge.exceptions.GatewayTimeoutException;
+import com.me.backendchallenge.repository.PersonRepository;
+import com.me.backendchallenge.repository.item.PersonItem;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.me.backendchallenge.constants.Constants.PERSON_PATH;
+import static com.me.backendchallenge.constants.Constants.REQUEST_TIMEOUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Verifica o deadline das requisições: o header X-Request-Timeout, o maxTimeMS enviado ao MongoDB (pelo profiler) e o
+ * cancelamento do cursor quando o cliente desconecta no meio de uma rota em stream.
+ */
+@AutoConfigureWebTestClient(timeout = "36000")
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DeadlineIntegrationTest {
+
+    private static final int PERSONS = 50_000;
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Autowired
+    private ReactiveMongoTemplate template;
+
+    @Test
+    @DisplayName("Deve fechar o cursor do MongoDB quando o cliente desconectar durante a exportação.")
+    void test1() {
+        repository.deleteAll().block();
+        insertPersons();
+
+        var received = client.get()
+                .uri(PERSON_PATH + "/export")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody()
+                .take(1)
+                .collectList()
+                .block();
+
+        assertEquals(1, received.size());
+
+        var closed = Flux.interval(Duration.ofMillis(100))
+                .concatMap($ -> openCursors())
+                .filter(open -> open == 0)
+                .next()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(0L, closed);
+
+        repository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para um X-Request-Timeout inválido e 504 quando o deadline se esgotar.")
+    void test2() {
+        client.get()
+                .uri(PERSON_PATH + "?document=12345678909")
+                .header(REQUEST_TIMEOUT, "dois segundos")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("entrada_invalida")
+                .jsonPath("$.error_description").isEqualTo("O timeout dois segundos informado é inválido.");
+
+        StepVerifier.create(Deadline.boundedMono(maxTime -> Mono.just("não executado"))
+                .subscriberContext(Deadline.after(Duration.ZERO)::in))
+                .expectError(GatewayTimeoutException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o tempo restante do deadline como maxTimeMS nas consultas ao MongoDB.")
+    void test3() {
+        repository.deleteAll().block();
+
+        var collection = template.getCollectionName(PersonItem.class);
+        var namespace = template.getMongoDatabase().getName() + "." + collection;
+
+        template.executeCommand(new Document("profile", 2)).block();
+
+        try {
+            repository.findByDocument("12345678909")
+                    .subscriberContext(Deadline.after(Duration.ofSeconds(30))::in)
+                    .block();
+        } finally {
+            template.executeCommand(new Document("profile", 0)).block();
+        }
+
+        var profiled = template.find(query(where("ns").is(namespace).orOperator(
+                where("command.maxTimeMS").exists(true),
+                where("query.maxTimeMS").exists(true))), Document.class, "system.profile")
+                .collectList()
+                .block();
+
+        assertFalse(profiled.isEmpty());
+
+        var command = profiled.get(0).get("command", profiled.get(0).get("query", Document.class));
+        var maxTime = ((Number) command.get("maxTimeMS")).longValue();
+
+        assertTrue(maxTime > 0 && maxTime <= 30_000);
+    }
+
+    private void insertPersons() {
+        List<Document> documents = IntStream.range(0, PERSONS)
+                .mapToObj(i -> new Document("_id", "deadline-" + i)
+                        .append("name", "Pessoa")
+                        .append("lastName", "Teste")
+                        .append("document", String.format("%011d", i))
+                        .append("emails", List.of("pessoa" + i + "@teste.com"))
+                        .append("active", true))
+                .collect(Collectors.toList());
+
+        Mono.from(template.getCollection(template.getCollectionName(PersonItem.class)).insertMany(documents)).block();
+    }
+
+    private Mono<Long> openCursors() {
+        return template.executeCommand(new Document("serverStatus", 1))
+                .map(status -> ((Number) status.get("metrics", Document.class)
+                        .get("cursor", Document.class)
+                        .get("open", Document.class)
+                        .get("total")).longValue());
+    }
+}
@@ -0,0 +1,116 @@
+package com.me.backendchallenge.endpoint;
+
+import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.endpoint.request.PersonRequest;
+import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.me.backendchallenge.repository.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+import static com.me.backendchallenge.constants.Constants.PATH;
+import static com.me.backendchallenge.constants.Constants.PERSON_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executa todas as rotas com o BlockHound no modo fail: qualquer chamada bloqueante nas threads do reactor-netty
+ * quebra a requisição e é contada na métrica person.blocking.calls.
+ * <p>
+ * O BlockHound fica instalado na JVM até o fim, por isso este teste roda isolado na task blockingCallsTest.
+ */
+@AutoConfigureWebTestClient(timeout = "36000")
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "person.blocking-detection.mode=fail")
+@ActiveProfiles({"test", "blocking-detection"})
+class BlockingCallsIntegrationTest {
+
+    private static final String NEW_DOCUMENT = "89910684055";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Não deve executar nenhuma chamada bloqueante nas threads do event loop em nenhuma rota.")
+    void test1() {
+        repository.deleteAll().block();
+
+        var request = new PersonRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT,
+                TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList(TestsConstants.PHONE),
+                Collections.singletonList(TestsConstants.E_MAIL));
+
+        var request2 = new PersonRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT,
+                TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList(TestsConstants.PHONE),
+                Collections.singletonList("teste@gmail.com"));
+
+        var created = client.post()
+                .uri(PERSON_PATH)
+                .body(Mono.just(request), PersonRequest.class)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PersonResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        client.post()
+                .uri(PATH + "/persons")
+                .body(Flux.just(request, request2), PersonRequest.class)
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get()
+                .uri(PERSON_PATH)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get()
+                .uri(PERSON_PATH + "?name=" + TestsConstants.NAME + "&fields=id,name")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get()
+                .uri(PERSON_PATH + "?document=" + TestsConstants.DOCUMENT)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get()
+                .uri(PERSON_PATH + "/export")
+                .exchange()
+                .expectStatus().isOk();
+
+        var update = new UpdatePersonRequest(created.getId(), "José", TestsConstants.LAST_NAME, TestsConstants.DOCUMENT,
+                TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, created.getPhones(), created.getEmails());
+
+        client.put()
+                .uri(PERSON_PATH)
+                .body(Mono.just(update), UpdatePersonRequest.class)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.delete()
+                .uri(PERSON_PATH + "/" + created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertEquals(0, registry.find("person.blocking.calls").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum());
+    }
+}
@@ -1,10 +1,15 @@
 package com.me.backendchallenge.endpoint;
 
+import com.me.backendchallenge.config.properties.IdempotencyProperties;
 import com.me.backendchallenge.endpoint.request.PersonRequest;
 import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
 import com.me.backendchallenge.endpoint.response.PersonResponse;
+import com.me.backendchallenge.model.Person;
 import com.me.backendchallenge.repository.PersonRepository;
+import com.me.backendchallenge.repository.item.PersonItem;
+import com.me.backendchallenge.service.PersonService;
 import com.me.backendchallenge.constants.TestsConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -12,22 +17,43 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import static com.me.backendchallenge.constants.Constants.APPLICATION_CBOR;
+import static com.me.backendchallenge.constants.Constants.APPLICATION_NDJSON;
+import static com.me.backendchallenge.constants.Constants.APPLICATION_SMILE;
+import static com.me.backendchallenge.constants.Constants.IDEMPOTENCY_KEY;
 import static com.me.backendchallenge.constants.Constants.PATH;
 import static com.me.backendchallenge.constants.Constants.PERSON_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
 
 @AutoConfigureWebTestClient(timeout = "36000")
 @ExtendWith(SpringExtension.class)
@@ -43,6 +69,21 @@ class PersonEndpointImplTest {
     @Autowired
     private PersonRepository repository;
 
+    @Autowired
+    private ApplicationContext context;
+
+    @SpyBean
+    private PersonService service;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private IdempotencyProperties idempotency;
+
+    @LocalServerPort
+    private int port;
+
     @Nested
     class CreatePerson {
 
@@ -716,6 +757,629 @@ class PersonEndpointImplTest {
         }
     }
 
+    @Nested
+    class FieldProjection {
+
+        @Test
+        @DisplayName("Deve retornar apenas os campos informados no parametro fields e 400 para campos inexistentes.")
+        void test1() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            client.get()
+                    .uri(PERSON_PATH + "?fields=id,name")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.id").isNotEmpty()
+                    .jsonPath("$.name").isEqualTo(TestsConstants.NAME)
+                    .jsonPath("$.lastName").doesNotExist()
+                    .jsonPath("$.phones").doesNotExist()
+                    .jsonPath("$.emails").doesNotExist();
+
+            client.get()
+                    .uri(PERSON_PATH + "?document=" + TestsConstants.DOCUMENT + "&fields=name,birthDate")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.id").doesNotExist()
+                    .jsonPath("$.name").isEqualTo(TestsConstants.NAME)
+                    .jsonPath("$.birthDate").isEqualTo("1994-02-17")
+                    .jsonPath("$.address").doesNotExist();
+
+            client.get()
+                    .uri(PERSON_PATH + "?name=" + TestsConstants.NAME.toUpperCase() + "&fields=lastName")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.lastName").isEqualTo(TestsConstants.LAST_NAME);
+
+            client.get()
+                    .uri(PERSON_PATH + "?fields=name,senha")
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.error").isEqualTo("entrada_invalida")
+                    .jsonPath("$.error_description").isEqualTo("O campo senha informado não existe.");
+        }
+
+        @Test
+        @DisplayName("Deve manter os campos nulos na resposta quando o parametro fields não for informado.")
+        void test2() {
+            repository.deleteAll().block();
+
+            var item = new PersonItem();
+            item.setId(UUID.randomUUID().toString());
+            item.setName(TestsConstants.NAME);
+            item.setLastName(TestsConstants.LAST_NAME);
+            item.setDocument(TestsConstants.DOCUMENT);
+
+            repository.save(item).block();
+
+            var body = client.get()
+                    .uri(PERSON_PATH + "?document=" + TestsConstants.DOCUMENT)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertTrue(body.contains("\"address\":null"));
+            assertTrue(body.contains("\"emails\":null"));
+
+            body = client.get()
+                    .uri(PERSON_PATH + "?document=" + TestsConstants.DOCUMENT + "&fields=name,address")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertFalse(body.contains("address"));
+            assertTrue(body.contains(TestsConstants.NAME));
+        }
+    }
+
+    @Nested
+    class BinaryContentNegotiation {
+
+        @Test
+        @DisplayName("Deve salvar em CBOR e buscar as pessoas em Smile, mantendo JSON como padrão.")
+        void test1() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .contentType(APPLICATION_CBOR)
+                    .accept(APPLICATION_CBOR)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectHeader().contentType(APPLICATION_CBOR)
+                    .expectBody(PersonResponse.class)
+                    .value(response -> {
+                        assertEquals(TestsConstants.NAME, response.getName());
+                        assertEquals(TestsConstants.BIRTH_DATE, response.getBirthDate());
+                    });
+
+            var persons = client.get()
+                    .uri(PERSON_PATH)
+                    .accept(APPLICATION_SMILE)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(APPLICATION_SMILE)
+                    .returnResult(PersonResponse.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertEquals(1, persons.size());
+            assertEquals(TestsConstants.DOCUMENT, persons.get(0).getDocument());
+
+            client.get()
+                    .uri(PERSON_PATH)
+                    .accept(MediaType.APPLICATION_STREAM_JSON, APPLICATION_CBOR)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_STREAM_JSON);
+        }
+    }
+
+    @Nested
+    class ExportPersons {
+
+        @Test
+        @DisplayName("Deve exportar todas as pessoas em NDJSON, um documento por linha.")
+        void test1() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+            var request2 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+
+            client.post()
+                    .uri(PATH + "/persons")
+                    .body(Flux.just(request, request2), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            var body = client.get()
+                    .uri(PERSON_PATH + "/export")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(APPLICATION_NDJSON)
+                    .expectBody(String.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            var lines = body.split("\n");
+
+            assertEquals(2, lines.length);
+            assertTrue(body.contains(TestsConstants.DOCUMENT));
+            assertTrue(body.contains(NEW_DOCUMENT));
+            assertFalse(body.contains("_class"));
+        }
+    }
+
+    @Nested
+    class DeltaSync {
+
+        @Test
+        @DisplayName("Deve retornar as pessoas alteradas depois da data informada, retomando a partir do último id recebido.")
+        void test1() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+            var request2 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+
+            client.post()
+                    .uri(PATH + "/persons")
+                    .body(Flux.just(request, request2), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            var persons = client.get()
+                    .uri(PERSON_PATH + "/delta?since=2000-01-01T00:00:00")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(PersonResponse.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertEquals(2, persons.size());
+            assertFalse(persons.get(0).getUpdatedAt().isAfter(persons.get(1).getUpdatedAt()));
+
+            var first = persons.get(0);
+
+            var resumed = client.get()
+                    .uri(PERSON_PATH + "/delta?since=" + first.getUpdatedAt() + "&after=" + first.getId())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(PersonResponse.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertEquals(1, resumed.size());
+            assertEquals(persons.get(1).getId(), resumed.get(0).getId());
+
+            var limited = client.get()
+                    .uri(PERSON_PATH + "/delta?since=2000-01-01T00:00:00&limit=1")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(PersonResponse.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertEquals(1, limited.size());
+            assertEquals(first.getId(), limited.get(0).getId());
+
+            client.get()
+                    .uri(PERSON_PATH + "/delta?since=ontem")
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.error").isEqualTo("entrada_invalida")
+                    .jsonPath("$.error_description").isEqualTo("A data ontem informada é inválida.");
+        }
+
+        @Test
+        @DisplayName("Deve reler as alterações do intervalo de overlap antes de since ao começar uma nova rodada.")
+        void test2() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+            var request2 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+
+            client.post()
+                    .uri(PATH + "/persons")
+                    .body(Flux.just(request, request2), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            var persons = client.get()
+                    .uri(PERSON_PATH + "/delta?since=2000-01-01T00:00:00")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(PersonResponse.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            var last = persons.get(persons.size() - 1);
+
+            var nextRound = client.get()
+                    .uri(PERSON_PATH + "/delta?since=" + last.getUpdatedAt())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(PersonResponse.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertEquals(2, nextRound.size());
+        }
+    }
+
+    @Nested
+    class IdempotentCreate {
+
+        @Test
+        @DisplayName("Deve devolver a mesma pessoa ao repetir a Idempotency-Key e 400 quando a chave for usada com outro conteúdo.")
+        void test1() {
+            repository.deleteAll().block();
+
+            var key = UUID.randomUUID().toString();
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            var created = client.post()
+                    .uri(PERSON_PATH)
+                    .header(IDEMPOTENCY_KEY, key)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(PersonResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .header(IDEMPOTENCY_KEY, key)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(created.getId());
+
+            var otherRequest = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .header(IDEMPOTENCY_KEY, key)
+                    .body(Mono.just(otherRequest), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.error").isEqualTo("entrada_invalida")
+                    .jsonPath("$.error_description").isEqualTo("A Idempotency-Key " + key + " já foi usada com outro conteúdo.");
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+            assertEquals(1L, repository.count().block());
+        }
+
+        @Test
+        @DisplayName("Deve devolver o mesmo lote ao repetir a Idempotency-Key no cadastro de várias pessoas.")
+        void test2() {
+            repository.deleteAll().block();
+
+            var key = UUID.randomUUID().toString();
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+            var request2 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+
+            var first = client.post()
+                    .uri(PATH + "/persons")
+                    .header(IDEMPOTENCY_KEY, key)
+                    .body(Flux.just(request, request2), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBodyList(PersonResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            var second = client.post()
+                    .uri(PATH + "/persons")
+                    .header(IDEMPOTENCY_KEY, key)
+                    .body(Flux.just(request, request2), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBodyList(PersonResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertEquals(2, first.size());
+            assertEquals(2, second.size());
+            assertEquals(first.get(0).getId(), second.get(0).getId());
+            assertEquals(first.get(1).getId(), second.get(1).getId());
+        }
+
+        @Test
+        @DisplayName("Deve recusar com 413 o lote com Idempotency-Key maior que o limite, sem gravar nenhuma pessoa.")
+        void test3() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+            var request2 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, NEW_DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+            var maxBatchSize = idempotency.getMaxBatchSize();
+
+            idempotency.setMaxBatchSize(1);
+
+            try {
+                client.post()
+                        .uri(PATH + "/persons")
+                        .header(IDEMPOTENCY_KEY, UUID.randomUUID().toString())
+                        .body(Flux.just(request, request2), PersonRequest.class)
+                        .exchange()
+                        .expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE)
+                        .expectBody()
+                        .jsonPath("$.error").isEqualTo("entrada_muito_grande")
+                        .jsonPath("$.error_description").isEqualTo("O lote enviado com Idempotency-Key deve ter no máximo 1 pessoas.");
+            } finally {
+                idempotency.setMaxBatchSize(maxBatchSize);
+            }
+
+            assertEquals(0L, repository.count().block());
+        }
+    }
+
+    @Nested
+    class Metrics {
+
+        @Test
+        @DisplayName("Deve expor as métricas das rotas, do repositório e do service no endpoint do Prometheus.")
+        void test1() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            client.post()
+                    .uri(PERSON_PATH)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+            var body = client.get()
+                    .uri("/actuator/prometheus")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertTrue(body.contains("person_http_requests_seconds_count{method=\"POST\",route=\"save\",status=\"201\",}"));
+            assertTrue(body.contains("person_http_requests_seconds_count{method=\"POST\",route=\"save\",status=\"409\",}"));
+            assertTrue(body.contains("person_repository_calls_seconds_count{method=\"findByDocument\",outcome=\"success\",}"));
+            assertTrue(body.contains("person_service_outcomes_total{operation=\"create\",outcome=\"conflict\",}"));
+        }
+
+        @Test
+        @DisplayName("Deve expor as métricas do pool de conexões do MongoDB.")
+        void test2() {
+            repository.deleteAll().block();
+
+            var body = client.get()
+                    .uri("/actuator/prometheus")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertTrue(body.contains("person_mongo_pool_size{"));
+            assertTrue(body.contains("person_mongo_pool_checkedout{"));
+            assertTrue(body.contains("person_mongo_pool_utilization{"));
+        }
+
+        @Test
+        @DisplayName("Deve usar pools de conexões separados para as rotas de lote e as de uma pessoa só.")
+        void test3() {
+            repository.deleteAll().block();
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            client.post()
+                    .uri(PATH + "/persons")
+                    .body(Flux.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            client.get()
+                    .uri(PERSON_PATH + "/export")
+                    .exchange()
+                    .expectStatus().isOk();
+
+            var body = client.get()
+                    .uri("/actuator/prometheus")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertTrue(body.contains("person_mongo_pool_size{client=\"bulk\","));
+            assertTrue(body.contains("person_mongo_pool_size{client=\"interactive\","));
+            assertTrue(body.contains("person_repository_calls_seconds_count{method=\"findAllRaw\",outcome=\"success\",}"));
+        }
+    }
+
+    @Nested
+    class ChangeFeed {
+
+        @Test
+        @DisplayName("Deve enviar por SSE o evento de criação com o nome do tipo e a sequência como id.")
+        void test1() throws Exception {
+            repository.deleteAll().block();
+
+            var event = WebClient.create("http://localhost:" + port)
+                    .get()
+                    .uri(PERSON_PATH + "/changes")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                    })
+                    .filter(sse -> sse.data() != null)
+                    .next()
+                    .toFuture();
+
+            var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+            while (registry.get("person.feed.subscribers").gauge().value() < 1) {
+                assertTrue(System.nanoTime() < deadline, "Assinante do feed não conectado no tempo limite.");
+                Thread.sleep(50);
+            }
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            var created = client.post()
+                    .uri(PERSON_PATH)
+                    .body(Mono.just(request), PersonRequest.class)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(PersonResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            var received = event.get(10, TimeUnit.SECONDS);
+
+            assertEquals("created", received.event());
+            assertTrue(Long.parseLong(received.id()) > 0);
+            assertTrue(received.data().contains("\"sequence\":" + received.id()));
+            assertTrue(received.data().contains(created.getId()));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a política de overflow informada não existir.")
+        void test2() {
+            client.get()
+                    .uri(PERSON_PATH + "/changes?overflow=explodir")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.error").isEqualTo("entrada_invalida")
+                    .jsonPath("$.error_description").isEqualTo("A política de overflow explodir informada não existe.");
+        }
+    }
+
+    @Nested
+    class StreamChunking {
+
+        @Test
+        @DisplayName("Deve agrupar o stream NDJSON em blocos de no máximo chunk-size pessoas.")
+        void test1() {
+            repository.deleteAll().block();
+            repository.saveAll(Flux.range(0, 150).map(i -> buildItem(String.valueOf(10000000000L + i)))).blockLast();
+
+            var lines = WebTestClient.bindToApplicationContext(context).build()
+                    .get()
+                    .uri(PERSON_PATH)
+                    .accept(MediaType.APPLICATION_STREAM_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(DataBuffer.class)
+                    .getResponseBody()
+                    .map(PersonEndpointImplTest::countLines)
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+
+            assertTrue(lines.size() >= 2);
+            assertTrue(lines.stream().allMatch(count -> count > 0 && count <= 100));
+            assertEquals(150, lines.stream().mapToInt(Integer::intValue).sum());
+        }
+
+        @Test
+        @DisplayName("Deve enviar o bloco incompleto quando o flush-interval expirar, sem esperar o fim do stream.")
+        void test2() {
+            var person = new PersonResponse(new Person(buildItem(TestsConstants.DOCUMENT)));
+
+            doReturn(Flux.concat(Flux.just(person), Flux.never())).when(service).listPersons(anyList());
+
+            var first = WebTestClient.bindToApplicationContext(context).build()
+                    .get()
+                    .uri(PERSON_PATH)
+                    .accept(MediaType.APPLICATION_STREAM_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(DataBuffer.class)
+                    .getResponseBody()
+                    .map(PersonEndpointImplTest::countLines)
+                    .next()
+                    .block(Duration.ofSeconds(5));
+
+            assertEquals(1, first);
+        }
+
+        @Test
+        @DisplayName("Deve comprimir o stream com gzip quando o cliente enviar Accept-Encoding.")
+        void test3() {
+            repository.deleteAll().block();
+            repository.saveAll(Flux.range(0, 50).map(i -> buildItem(String.valueOf(10000000000L + i)))).blockLast();
+
+            client.get()
+                    .uri(PERSON_PATH)
+                    .accept(MediaType.APPLICATION_STREAM_JSON)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+            client.get()
+                    .uri(PERSON_PATH)
+                    .accept(MediaType.APPLICATION_STREAM_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING);
+        }
+
+        private PersonItem buildItem(String document) {
+            var item = new PersonItem();
+            item.setId(UUID.randomUUID().toString());
+            item.setName(TestsConstants.NAME);
+            item.setLastName(TestsConstants.LAST_NAME);
+            item.setDocument(document);
+            item.setAddress(TestsConstants.ADDRESS);
+
+            return item;
+        }
+    }
+
+    private static int countLines(DataBuffer buffer) {
+        var text = StandardCharsets.UTF_8.decode(buffer.asByteBuffer()).toString();
+        DataBufferUtils.release(buffer);
+
+        return (int) text.chars().filter(c -> c == '\n').count();
+    }
+
     private UpdatePersonRequest buildUpdatePersonRequest(String id, String name, String lastName, String document, LocalDate birthDate,
                                                          String address, List<String> emails, List<String> phones) {
 
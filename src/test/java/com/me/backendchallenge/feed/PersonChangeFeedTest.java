@@ -0,0 +1,92 @@
+package com.me.backendchallenge.feed;
+
+import com.me.backendchallenge.config.properties.FeedProperties;
+import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.model.Person;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+
+class PersonChangeFeedTest {
+
+    private PersonChangeFeed feed;
+    private Person person;
+
+    @BeforeEach
+    void init() {
+        var properties = new FeedProperties();
+        properties.setBufferSize(2);
+
+        feed = new PersonChangeFeed(properties, new SimpleMeterRegistry());
+        person = new Person.Builder()
+                .withName(TestsConstants.NAME)
+                .withLastName(TestsConstants.LAST_NAME)
+                .withDocument(TestsConstants.DOCUMENT)
+                .withBirthDate(TestsConstants.BIRTH_DATE)
+                .withAddress(TestsConstants.ADDRESS)
+                .withPhones(Collections.singletonList(TestsConstants.PHONE))
+                .withEmails(Collections.singletonList(TestsConstants.E_MAIL))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve descartar os eventos mais antigos quando o buffer do assinante estiver cheio.")
+    void test1() {
+        StepVerifier.create(feed.subscribe(FeedProperties.Overflow.DROP_OLDEST), 0)
+                .then(this::publishThree)
+                .thenRequest(2)
+                .expectNextMatches(event -> event.getSequence() == 2)
+                .expectNextMatches(event -> event.getSequence() == 3)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Deve descartar os eventos mais novos quando o buffer do assinante estiver cheio.")
+    void test2() {
+        StepVerifier.create(feed.subscribe(FeedProperties.Overflow.DROP_LATEST), 0)
+                .then(this::publishThree)
+                .thenRequest(2)
+                .expectNextMatches(event -> event.getSequence() == 1)
+                .expectNextMatches(event -> event.getSequence() == 2)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Deve desconectar com um evento LAGGED o assinante que estourar o buffer.")
+    void test3() {
+        StepVerifier.create(feed.subscribe(FeedProperties.Overflow.DISCONNECT), 0)
+                .then(this::publishThree)
+                .thenRequest(3)
+                .expectNextMatches(event -> event.getSequence() == 1)
+                .expectNextMatches(event -> event.getSequence() == 2)
+                .expectNextMatches(event -> event.getType() == PersonChangeEvent.Type.LAGGED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Não deve afetar um assinante com demanda quando outro estiver atrasado.")
+    void test4() {
+        var slow = feed.subscribe(FeedProperties.Overflow.DISCONNECT).subscribe(event -> { }, error -> { }, () -> { },
+                subscription -> { });
+
+        StepVerifier.create(feed.subscribe(FeedProperties.Overflow.DISCONNECT))
+                .then(this::publishThree)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify();
+
+        slow.dispose();
+    }
+
+    private void publishThree() {
+        feed.publish(PersonChangeEvent.Type.CREATED, person);
+        feed.publish(PersonChangeEvent.Type.UPDATED, person);
+        feed.publish(PersonChangeEvent.Type.INACTIVATED, person);
+    }
+}
@@ -0,0 +1,104 @@
+package com.me.backendchallenge.limit;
+
+import com.me.backendchallenge.config.properties.ConcurrencyProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long LATENCY = Duration.ofMillis(10).toNanos();
+
+    @Test
+    @DisplayName("Deve recusar as requisições acima do limite e aceitar novamente quando uma vaga for devolvida")
+    void test1() {
+        var limit = new AdaptiveConcurrencyLimit(settings());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+
+        assertFalse(limit.tryAcquire());
+        assertEquals(10, limit.getInFlight());
+
+        limit.release();
+
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o limite enquanto a latência se mantém estável e reduzir quando ela sobe")
+    void test2() {
+        var limit = new AdaptiveConcurrencyLimit(settings());
+
+        saturate(limit, LATENCY, 50);
+        var grown = limit.getLimit();
+
+        assertTrue(grown > 10);
+
+        saturate(limit, LATENCY * 10, 1);
+
+        assertTrue(limit.getLimit() < grown);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite nos erros do servidor e nas respostas acima da latência máxima, sem passar do mínimo")
+    void test3() {
+        var limit = new AdaptiveConcurrencyLimit(settings());
+
+        limit.tryAcquire();
+        limit.release(LATENCY, true);
+
+        assertEquals(9, limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(Duration.ofSeconds(2).toNanos(), false);
+        }
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o limite quando menos da metade das vagas estiver em uso")
+    void test4() {
+        var limit = new AdaptiveConcurrencyLimit(settings());
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(LATENCY, false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimit limit, long latency, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            var acquired = 0;
+
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+
+            for (int i = 0; i < acquired; i++) {
+                limit.release(latency, false);
+            }
+        }
+    }
+
+    private static ConcurrencyProperties.Limit settings() {
+        var settings = new ConcurrencyProperties.Limit();
+        settings.setInitialLimit(10);
+        settings.setMinLimit(2);
+        settings.setMaxLimit(100);
+        settings.setMaxLatency(Duration.ofSeconds(1));
+        settings.setWindow(100);
+
+        return settings;
+    }
+}
@@ -0,0 +1,86 @@
+package com.me.backendchallenge.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketStoreTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(SECOND);
+    private final TokenBucketStore store = new TokenBucketStore(4, 10, 20, Duration.ofMinutes(1), 3, clock::get);
+
+    @Test
+    @DisplayName("Deve permitir a rajada até a capacidade e recusar o excedente informando a espera")
+    void test1() {
+        assertEquals(0, store.tryConsume("ip:10.0.0.1", 15));
+        assertEquals(0, store.tryConsume("ip:10.0.0.1", 5));
+
+        var wait = store.tryConsume("ip:10.0.0.1", 1);
+
+        assertEquals(SECOND / 10, wait);
+        assertEquals(0, store.tryConsume("ip:10.0.0.2", 20));
+    }
+
+    @Test
+    @DisplayName("Deve repor os tokens conforme o tempo passa, sem ultrapassar a capacidade")
+    void test2() {
+        assertEquals(0, store.tryConsume("key:abc", 20));
+        assertTrue(store.tryConsume("key:abc", 5) > 0);
+
+        clock.addAndGet(SECOND / 2);
+
+        assertEquals(0, store.tryConsume("key:abc", 5));
+        assertTrue(store.tryConsume("key:abc", 1) > 0);
+
+        clock.addAndGet(10 * SECOND);
+
+        assertEquals(0, store.tryConsume("key:abc", 20));
+        assertTrue(store.tryConsume("key:abc", 1) > 0);
+    }
+
+    @Test
+    @DisplayName("Deve reservar os tokens sem saldo e informar quanto tempo aguardar")
+    void test3() {
+        assertEquals(0, store.reserve("key:lote", 20));
+        assertEquals(SECOND / 10, store.reserve("key:lote", 1));
+        assertEquals(2 * SECOND / 10, store.reserve("key:lote", 1));
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas os clientes ociosos com o balde cheio")
+    void test4() {
+        store.tryConsume("ip:10.0.0.1", 1);
+        clock.addAndGet(30 * SECOND);
+        store.tryConsume("ip:10.0.0.2", 1);
+        clock.addAndGet(31 * SECOND);
+
+        assertEquals(1, store.evictIdle());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Deve cobrar os clientes novos em um balde compartilhado quando o limite de baldes for atingido")
+    void test5() {
+        store.tryConsume("ip:10.0.0.1", 1);
+        store.tryConsume("ip:10.0.0.2", 1);
+        store.tryConsume("ip:10.0.0.3", 1);
+
+        assertEquals(0, store.tryConsume("ip:10.0.0.4", 15));
+        assertTrue(store.tryConsume("ip:10.0.0.5", 10) > 0);
+        assertEquals(0, store.tryConsume("ip:10.0.0.1", 19));
+        assertEquals(3, store.size());
+
+        clock.addAndGet(63 * SECOND);
+
+        assertEquals(3, store.evictIdle());
+        assertEquals(0, store.tryConsume("ip:10.0.0.5", 20));
+        assertEquals(1, store.size());
+    }
+}
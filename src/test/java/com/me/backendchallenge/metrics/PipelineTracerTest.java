@@ -0,0 +1,64 @@
+package com.me.backendchallenge.metrics;
+
+import com.me.backendchallenge.config.properties.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelineTracerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TracingProperties properties = new TracingProperties();
+
+    @Test
+    @DisplayName("Deve propagar o trace amostrado pelo contexto até as etapas e registrar nele cada etapa executada")
+    void test1() {
+        properties.setSampleRate(1);
+        var tracer = new PipelineTracer(registry, properties);
+
+        var context = tracer.traced("create", tracer.stage("create", "save", Mono.just("ok"))
+                .then(Mono.subscriberContext()))
+                .block();
+
+        assertTrue(context.hasKey(PipelineTrace.class));
+
+        var trace = context.get(PipelineTrace.class).toString();
+
+        assertTrue(trace.contains("\"pipeline\":\"create\""));
+        assertTrue(trace.contains("\"stage\":\"save\""));
+        assertTrue(trace.contains("\"outcome\":\"success\""));
+    }
+
+    @Test
+    @DisplayName("Não deve criar o trace fora da amostragem, mas deve registrar o timer da etapa com o resultado")
+    void test2() {
+        var tracer = new PipelineTracer(registry, properties);
+
+        var context = tracer.traced("update", tracer.stage("update", "findById", Mono.error(new IllegalStateException()))
+                .onErrorResume($ -> Mono.empty())
+                .then(Mono.subscriberContext()))
+                .block();
+
+        assertFalse(context.hasKey(PipelineTrace.class));
+        assertEquals(1, registry.get("person.pipeline.stage")
+                .tags("pipeline", "update", "stage", "findById", "outcome", "error")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Não deve registrar nenhum timer com o tracing desabilitado")
+    void test3() {
+        properties.setEnabled(false);
+        var tracer = new PipelineTracer(registry, properties);
+
+        tracer.traced("create", tracer.stage("create", "save", Mono.just("ok"))).block();
+
+        assertNull(registry.find("person.pipeline.stage").timer());
+    }
+}
@@ -0,0 +1,35 @@
+package com.me.backendchallenge.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedIdGeneratorTest {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    @DisplayName("Deve gerar UUID versão 7 com variante RFC 4122")
+    void test1() {
+        var uuid = UUID.fromString(generator.generate());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids em ordem lexicográfica entre milissegundos distintos")
+    void test2() throws InterruptedException {
+        var first = generator.generate();
+        Thread.sleep(2);
+        var second = generator.generate();
+
+        assertNotEquals(first, second);
+        assertTrue(first.compareTo(second) < 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.me.backendchallenge.resilience;
+
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+
+    @Test
+    @DisplayName("Deve abrir o circuito quando a taxa de falhas passar do limite e recusar as chamadas enquanto aberto")
+    void test1() {
+        var breaker = breaker();
+
+        for (int i = 0; i < 5; i++) {
+            breaker.tryAcquire().success();
+            breaker.tryAcquire().failure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    @DisplayName("Não deve abrir o circuito com menos chamadas que o mínimo ou com falhas em janelas diferentes")
+    void test2() {
+        var breaker = breaker();
+
+        for (int i = 0; i < 9; i++) {
+            breaker.tryAcquire().failure();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        breaker.tryAcquire().failure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Deve liberar só as chamadas de teste depois do tempo aberto e fechar quando todas derem certo")
+    void test3() {
+        var breaker = opened();
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        var first = breaker.tryAcquire();
+        var second = breaker.tryAcquire();
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        first.success();
+        second.success();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    @DisplayName("Deve reabrir o circuito na primeira falha das chamadas de teste e devolver a vaga das canceladas")
+    void test4() {
+        var breaker = opened();
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        breaker.tryAcquire().cancel();
+        breaker.tryAcquire().cancel();
+        breaker.tryAcquire().failure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN"), transitions);
+    }
+
+    private CircuitBreaker opened() {
+        var breaker = breaker();
+
+        for (int i = 0; i < 10; i++) {
+            breaker.tryAcquire().failure();
+        }
+
+        return breaker;
+    }
+
+    private CircuitBreaker breaker() {
+        var settings = new ResilienceProperties.Breaker();
+        settings.setMinimumCalls(10);
+        settings.setFailureRateThreshold(0.5);
+        settings.setWindow(Duration.ofSeconds(10));
+        settings.setOpenDuration(Duration.ofSeconds(5));
+        settings.setHalfOpenCalls(2);
+
+        return new CircuitBreaker(settings, clock::get, (from, to) -> transitions.add(from + "->" + to));
+    }
+}
@@ -0,0 +1,240 @@
+package com.me.backendchallenge.resilience;
+
+import com.me.backendchallenge.config.properties.ResilienceProperties;
+import com.me.backendchallenge.exceptions.ConflictException;
+import com.me.backendchallenge.exceptions.GatewayTimeoutException;
+import com.me.backendchallenge.exceptions.ServiceUnavailableException;
+import com.me.backendchallenge.repository.Workload;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepositoryResilienceInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Deve repetir as leituras que falharem por erro transitório do MongoDB")
+    void test1() {
+        var repository = repository(2);
+
+        StepVerifier.create(repository.findOne())
+                .expectNext("pessoa")
+                .verifyComplete();
+
+        assertEquals(3, calls.get());
+        assertEquals(2, registry.counter("person.repository.retries", "method", "findOne").count());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir as escritas não idempotentes nem as leituras que já emitiram itens")
+    void test2() {
+        var repository = repository(10);
+
+        StepVerifier.create(repository.insert())
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+
+        StepVerifier.create(repository.findAll())
+                .expectNext("pessoa")
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir nem converter os erros de negócio")
+    void test3() {
+        var repository = repository(0);
+
+        StepVerifier.create(repository.findConflict())
+                .expectError(ConflictException.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve recusar as chamadas sem acessar o MongoDB enquanto o circuito estiver aberto")
+    void test4() {
+        var repository = repository(Integer.MAX_VALUE);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(repository.insert())
+                    .expectError(ServiceUnavailableException.class)
+                    .verify();
+        }
+
+        assertEquals(4, calls.get());
+
+        StepVerifier.create(repository.findOne())
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(4, calls.get());
+        assertEquals(1, registry.counter("person.circuit.rejected", "workload", "interactive").count());
+        assertEquals(1, registry.counter("person.circuit.transitions", "workload", "interactive", "from", "closed", "to", "open").count());
+    }
+
+    @Test
+    @DisplayName("Deve contar os tempos esgotados como falha no circuit breaker, sem repeti-los")
+    void test5() {
+        var repository = repository(0);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(repository.findSlow())
+                    .expectError(GatewayTimeoutException.class)
+                    .verify();
+        }
+
+        assertEquals(4, calls.get());
+        assertEquals(0, registry.counter("person.repository.retries", "method", "findSlow").count());
+        assertEquals(1, registry.counter("person.circuit.transitions", "workload", "interactive", "from", "closed", "to", "open").count());
+
+        StepVerifier.create(repository.findOne())
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve abrir apenas o circuito da carga que falhou, sem recusar as chamadas interativas")
+    void test6() {
+        var repository = repository(4);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(repository.insert().subscriberContext(Workload.BULK::in))
+                    .expectError(ServiceUnavailableException.class)
+                    .verify();
+        }
+
+        StepVerifier.create(repository.findOne().subscriberContext(Workload.BULK::in))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(4, calls.get());
+        assertEquals(1, registry.counter("person.circuit.rejected", "workload", "bulk").count());
+        assertEquals(1, registry.counter("person.circuit.transitions", "workload", "bulk", "from", "closed", "to", "open").count());
+
+        StepVerifier.create(repository.findOne())
+                .expectNext("pessoa")
+                .verifyComplete();
+
+        assertEquals(0, registry.counter("person.circuit.rejected", "workload", "interactive").count());
+    }
+
+    @Test
+    @DisplayName("Deve contar como falha o stream que falhar depois de já ter emitido itens")
+    void test7() {
+        var repository = repository(0);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(repository.findAll())
+                    .expectNext("pessoa")
+                    .expectError(ServiceUnavailableException.class)
+                    .verify();
+        }
+
+        assertEquals(1, registry.counter("person.circuit.transitions", "workload", "interactive", "from", "closed", "to", "open").count());
+
+        StepVerifier.create(repository.findOne())
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(4, calls.get());
+    }
+
+    private Repository repository(int failures) {
+        var settings = new ResilienceProperties();
+        settings.getRetry().setMinBackoff(Duration.ofMillis(1));
+        settings.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        settings.getBreaker().setMinimumCalls(4);
+
+        var factory = new ProxyFactory(new FailingRepository(failures));
+        factory.addInterface(Repository.class);
+        factory.addAdvice(new RepositoryResilienceInterceptor(settings, registry));
+
+        return (Repository) factory.getProxy();
+    }
+
+    public interface Repository {
+
+        Mono<String> findOne();
+
+        Flux<String> findAll();
+
+        Mono<String> findConflict();
+
+        Mono<String> findSlow();
+
+        Mono<String> insert();
+    }
+
+    private class FailingRepository implements Repository {
+
+        private final int failures;
+
+        private FailingRepository(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public Mono<String> findOne() {
+            return Mono.defer(() -> calls.incrementAndGet() <= failures ? Mono.error(failure()) : Mono.just("pessoa"));
+        }
+
+        @Override
+        public Flux<String> findAll() {
+            return Flux.defer(() -> {
+                calls.incrementAndGet();
+                return Flux.just("pessoa").concatWith(Mono.error(failure()));
+            });
+        }
+
+        @Override
+        public Mono<String> findConflict() {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return Mono.error(new ConflictException("conflito"));
+            });
+        }
+
+        @Override
+        public Mono<String> findSlow() {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return Mono.error(new GatewayTimeoutException("tempo esgotado",
+                        new MongoExecutionTimeoutException(50, "operation exceeded time limit")));
+            });
+        }
+
+        @Override
+        public Mono<String> insert() {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return Mono.error(failure());
+            });
+        }
+
+        private MongoSocketException failure() {
+            return new MongoSocketException("primary indisponível", new ServerAddress());
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package com.me.backendchallenge.service.impl;
 
+import com.me.backendchallenge.cache.PersonCache;
+import com.me.backendchallenge.config.properties.BulkProperties;
+import com.me.backendchallenge.config.properties.CacheProperties;
+import com.me.backendchallenge.config.properties.FeedProperties;
+import com.me.backendchallenge.config.properties.TracingProperties;
+import com.me.backendchallenge.config.properties.WritesProperties;
 import com.me.backendchallenge.endpoint.request.PersonRequest;
 import com.me.backendchallenge.endpoint.request.UpdatePersonRequest;
+import com.me.backendchallenge.endpoint.response.PersonResponse;
 import com.me.backendchallenge.exceptions.BadRequestException;
 import com.me.backendchallenge.exceptions.ConflictException;
 import com.me.backendchallenge.exceptions.NotFoundException;
+import com.me.backendchallenge.feed.PersonChangeEvent;
+import com.me.backendchallenge.feed.PersonChangeFeed;
+import com.me.backendchallenge.metrics.PersonMetrics;
+import com.me.backendchallenge.metrics.PipelineTracer;
 import com.me.backendchallenge.model.Person;
+import com.me.backendchallenge.model.id.IdGenerator;
+import com.me.backendchallenge.model.id.TimeOrderedIdGenerator;
 import com.me.backendchallenge.repository.PersonRepository;
 import com.me.backendchallenge.repository.item.PersonItem;
 import com.me.backendchallenge.constants.TestsConstants;
+import com.me.backendchallenge.util.time.ClockTimeSource;
+import com.me.backendchallenge.util.time.TimeSource;
+import com.mongodb.WriteConcern;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,19 +33,29 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.stubbing.Answer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PersonServiceImplTest {
@@ -36,6 +63,32 @@ class PersonServiceImplTest {
     @Mock
     private PersonRepository repository;
 
+    @Mock
+    private PersonMetrics metrics;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private PipelineTracer tracer = new PipelineTracer(registry, new TracingProperties());
+
+    @Spy
+    private IdGenerator idGenerator = new TimeOrderedIdGenerator();
+
+    @Spy
+    private TimeSource timeSource = new ClockTimeSource(Clock.systemDefaultZone());
+
+    @Spy
+    private PersonWritePolicy writePolicy = new PersonWritePolicy(new WritesProperties());
+
+    @Spy
+    private PersonCache cache = new PersonCache(new CacheProperties());
+
+    @Spy
+    private PersonChangeFeed feed = new PersonChangeFeed(new FeedProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private PersonBulkPolicy bulkPolicy = new PersonBulkPolicy(new BulkProperties());
+
     @InjectMocks
     private PersonServiceImpl service;
 
@@ -55,7 +108,7 @@ class PersonServiceImplTest {
 
             when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
@@ -87,6 +140,8 @@ class PersonServiceImplTest {
 
             assertNotNull(person.getCreatedAt());
             assertNotNull(person.getUpdatedAt());
+
+            verify(feed).publish(PersonChangeEvent.Type.CREATED, person);
         }
 
         @Test
@@ -94,12 +149,14 @@ class PersonServiceImplTest {
         void test2() {
             when(repository.findByDocument(any())).thenReturn(Mono.just(buildItem()));
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
 
             assertThrows(ConflictException.class, () -> service.newPerson(request).block());
+
+            verify(feed, never()).publish(any(), any());
         }
 
         @Test
@@ -107,7 +164,7 @@ class PersonServiceImplTest {
         void test3() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request = buildRequest("", TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
@@ -120,7 +177,7 @@ class PersonServiceImplTest {
         void test4() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var emails = buildEmails();
@@ -136,7 +193,7 @@ class PersonServiceImplTest {
         void test5() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var emails = buildEmails();
@@ -156,7 +213,7 @@ class PersonServiceImplTest {
         void test6() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var emails = buildEmails();
@@ -176,7 +233,7 @@ class PersonServiceImplTest {
         void test7() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, "", buildEmails(), buildPhones());
@@ -189,7 +246,7 @@ class PersonServiceImplTest {
         void test8() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request1 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), Collections.emptyList());
@@ -206,7 +263,7 @@ class PersonServiceImplTest {
         void test9() {
             when(repository.findByDocument(any())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request1 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.emptyList(), buildPhones());
@@ -220,6 +277,96 @@ class PersonServiceImplTest {
 
     }
 
+    @Nested
+    class CreatePersons {
+
+        @Test
+        @DisplayName("Deve gravar o lote sem journal e regravar com majority as pessoas não encontradas na verificação.")
+        void test1() {
+            when(repository.findByDocument(any())).thenReturn(Mono.empty());
+
+            when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
+
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
+                    .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
+
+            when(repository.findAllById(any(Iterable.class))).thenReturn(Flux.empty());
+
+            when(repository.writeBarrier(any(WriteConcern.class))).thenReturn(Mono.empty());
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            var persons = service.newPersons(Flux.just(request)).collectList().block();
+
+            assertNotNull(persons);
+            assertEquals(1, persons.size());
+
+            verify(repository).save(any(PersonItem.class), eq(WriteConcern.W1.withJournal(false)));
+            verify(repository, times(1)).save(any(PersonItem.class), eq(WriteConcern.MAJORITY));
+            verify(repository).writeBarrier(WriteConcern.MAJORITY);
+            verify(feed).publish(PersonChangeEvent.Type.CREATED, persons.get(0));
+        }
+
+        @Test
+        @DisplayName("Deve fazer somente a escrita marcadora com majority quando todo o lote foi encontrado na verificação.")
+        void test2() {
+            when(repository.findByDocument(any())).thenReturn(Mono.empty());
+
+            when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
+
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
+                    .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
+
+            when(repository.findAllById(any(Iterable.class)))
+                    .thenAnswer((Answer) invocation -> Flux.fromIterable((Iterable<String>) invocation.getArguments()[0])
+                            .map(id -> {
+                                var item = buildItem();
+                                item.setId(id);
+                                return item;
+                            }));
+
+            when(repository.writeBarrier(any(WriteConcern.class))).thenReturn(Mono.empty());
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            var persons = service.newPersons(Flux.just(request)).collectList().block();
+
+            assertNotNull(persons);
+            assertEquals(1, persons.size());
+
+            verify(repository, never()).save(any(PersonItem.class), eq(WriteConcern.MAJORITY));
+            verify(repository).writeBarrier(WriteConcern.MAJORITY);
+        }
+
+        @Test
+        @DisplayName("Deve conferir o lote em blocos de verifyChunkSize pessoas.")
+        void test3() {
+            when(writePolicy.verifyChunkSize()).thenReturn(1);
+
+            when(repository.findByDocument(any())).thenReturn(Mono.empty());
+
+            when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
+
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
+                    .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
+
+            when(repository.findAllById(any(Iterable.class))).thenReturn(Flux.empty());
+
+            when(repository.writeBarrier(any(WriteConcern.class))).thenReturn(Mono.empty());
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+            var request2 = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, "89910684055", TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, Collections.singletonList("teste@gmail.com"), buildPhones());
+
+            var persons = service.newPersons(Flux.just(request, request2)).collectList().block();
+
+            assertNotNull(persons);
+            assertEquals(2, persons.size());
+
+            verify(repository, times(2)).findAllById(argThat((Iterable<String> ids) -> ids.spliterator().getExactSizeIfKnown() == 1));
+            verify(repository).writeBarrier(WriteConcern.MAJORITY);
+        }
+    }
+
     @Nested
     class FindPerson {
 
@@ -228,7 +375,7 @@ class PersonServiceImplTest {
         void test1() {
             var person = buildPerson();
 
-            when(repository.findByDocument(any())).thenReturn(Mono.just(new PersonItem(person)));
+            when(repository.findByDocument(any(), eq(PersonResponse.class))).thenReturn(Mono.just(new PersonResponse(person)));
 
             var personResponse = service.findUser("", "", TestsConstants.DOCUMENT).blockFirst();
 
@@ -269,7 +416,7 @@ class PersonServiceImplTest {
         void test2() {
             var person = buildPerson();
 
-            when(repository.findByNameIgnoreCase(any())).thenReturn(Flux.just(new PersonItem(person)));
+            when(repository.findByNameIgnoreCase(any(), eq(PersonResponse.class))).thenReturn(Flux.just(new PersonResponse(person)));
 
             var personResponse = service.findUser(TestsConstants.NAME, "", "0").blockFirst();
 
@@ -306,7 +453,7 @@ class PersonServiceImplTest {
         void test3() {
             var person = buildPerson();
 
-            when(repository.findByLastNameIgnoreCase(any())).thenReturn(Flux.just(new PersonItem(person)));
+            when(repository.findByLastNameIgnoreCase(any(), eq(PersonResponse.class))).thenReturn(Flux.just(new PersonResponse(person)));
 
             var personResponse = service.findUser("", TestsConstants.LAST_NAME, "0").blockFirst();
 
@@ -346,6 +493,31 @@ class PersonServiceImplTest {
             assertNull(service.findUser("", "", "0").blockFirst());
         }
 
+        @Test
+        @DisplayName("Deve retornar 400 quando algum dos campos da projeção não existir.")
+        void test5() {
+            assertThrows(BadRequestException.class, () -> service.listPersons(List.of("name", "senha")).blockFirst());
+
+            assertThrows(BadRequestException.class, () -> service.findUser(TestsConstants.NAME, "", "0", List.of("senha")).blockFirst());
+        }
+
+        @Test
+        @DisplayName("Deve fazer uma única consulta para as buscas simultâneas pelo mesmo CPF.")
+        void test6() {
+            var result = MonoProcessor.<PersonResponse>create();
+
+            when(repository.findByDocument(any(), eq(PersonResponse.class))).thenReturn(result);
+
+            var responses = IntStream.range(0, 10)
+                    .mapToObj($ -> service.findUser("", "", TestsConstants.DOCUMENT).collectList().toFuture())
+                    .collect(Collectors.toList());
+
+            result.onNext(new PersonResponse(buildPerson()));
+
+            responses.forEach(response -> assertEquals(TestsConstants.DOCUMENT, response.join().get(0).getDocument()));
+            verify(repository, times(1)).findByDocument(TestsConstants.DOCUMENT, PersonResponse.class);
+        }
+
     }
 
     @Nested
@@ -358,7 +530,7 @@ class PersonServiceImplTest {
 
             when(repository.findById(anyString())).thenReturn(Mono.just(new PersonItem(person)));
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             Person inactivePerson = service.inactivatePerson(UUID.randomUUID().toString()).block();
@@ -366,6 +538,8 @@ class PersonServiceImplTest {
             assertNotNull(inactivePerson);
 
             assertFalse(inactivePerson.getActive());
+
+            verify(feed).publish(PersonChangeEvent.Type.INACTIVATED, inactivePerson);
         }
 
         @Test
@@ -398,7 +572,7 @@ class PersonServiceImplTest {
 
             when(repository.findByDocument(any())).thenReturn(Mono.just(new PersonItem(person)));
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request = buildUpdatePersonRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
@@ -429,7 +603,7 @@ class PersonServiceImplTest {
 
             when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
 
-            when(repository.save(any(PersonItem.class)))
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
                     .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
 
             var request = buildUpdatePersonRequest("Manoel", "Silva", TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, "Av. Paulista", buildEmails(), buildPhones());
@@ -462,8 +636,60 @@ class PersonServiceImplTest {
             assertNotNull(personResponse.getCreatedAt());
             assertNotNull(personResponse.getUpdatedAt());
             assertNotNull(personResponse.getId());
+
+            verify(feed).publish(PersonChangeEvent.Type.UPDATED, personResponse);
+        }
+
+    }
+
+    @Nested
+    class PipelineStages {
+
+        @Test
+        @DisplayName("Deve registrar o timer de cada etapa do pipeline de criação.")
+        void test1() {
+            when(repository.findByDocument(any())).thenReturn(Mono.empty());
+
+            when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
+
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
+                    .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
+
+            var request = buildRequest(TestsConstants.NAME, TestsConstants.LAST_NAME, TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, TestsConstants.ADDRESS, buildEmails(), buildPhones());
+
+            service.newPerson(request).block();
+
+            for (String stage : List.of("buildPerson", "findByDocument", "checkDuplicateEmail", "save")) {
+                assertEquals(1, stageCount("create", stage), stage);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve registrar o timer de cada etapa do pipeline de alteração.")
+        void test2() {
+            when(repository.findByDocument(any())).thenReturn(Mono.empty());
+
+            when(repository.findById(anyString())).thenReturn(Mono.just(new PersonItem(buildPerson())));
+
+            when(repository.findByEmails(anyString())).thenReturn(Mono.empty());
+
+            when(repository.save(any(PersonItem.class), any(WriteConcern.class)))
+                    .thenAnswer((Answer) invocation -> Mono.just(invocation.getArguments()[0]));
+
+            var request = buildUpdatePersonRequest("Manoel", "Silva", TestsConstants.DOCUMENT, TestsConstants.BIRTH_DATE, "Av. Paulista", buildEmails(), buildPhones());
+
+            service.updatePerson(request).block();
+
+            for (String stage : List.of("findById", "buildPerson", "findByDocument", "checkDuplicateEmail", "save")) {
+                assertEquals(1, stageCount("update", stage), stage);
+            }
         }
 
+        private long stageCount(String pipeline, String stage) {
+            return registry.get("person.pipeline.stage")
+                    .tags("pipeline", pipeline, "stage", stage, "outcome", "success")
+                    .timer().count();
+        }
     }
 
     private PersonRequest buildRequest(String name, String lastName, String document, LocalDate birthDate,
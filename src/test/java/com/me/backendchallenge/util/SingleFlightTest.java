@@ -0,0 +1,132 @@
+package com.me.backendchallenge.util;
+
+import com.me.backendchallenge.deadline.Deadline;
+import com.me.backendchallenge.exceptions.GatewayTimeoutException;
+import com.me.backendchallenge.repository.Workload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Deve executar uma única busca para as chamadas concorrentes da mesma chave")
+    void test1() {
+        var singleFlight = new SingleFlight<String, String>();
+        var calls = new AtomicInteger();
+        var result = MonoProcessor.<String>create();
+
+        var first = singleFlight.execute("id:1", key -> {
+            calls.incrementAndGet();
+            return result;
+        });
+        var second = singleFlight.execute("id:1", key -> {
+            calls.incrementAndGet();
+            return result;
+        });
+
+        var firstValue = first.toFuture();
+        var secondValue = second.toFuture();
+
+        assertEquals(1, singleFlight.inFlight());
+
+        result.onNext("pessoa");
+
+        assertEquals("pessoa", firstValue.join());
+        assertEquals("pessoa", secondValue.join());
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma nova busca depois que a anterior terminar ou a sua chave for descartada por uma escrita")
+    void test2() {
+        var singleFlight = new SingleFlight<String, String>();
+        var calls = new AtomicInteger();
+        var pending = MonoProcessor.<String>create();
+
+        singleFlight.execute("id:1", key -> Mono.fromCallable(() -> "v" + calls.incrementAndGet())).block();
+        assertEquals("v2", singleFlight.execute("id:1", key -> Mono.fromCallable(() -> "v" + calls.incrementAndGet())).block());
+
+        var stale = singleFlight.execute("id:2", key -> pending).toFuture();
+        var other = singleFlight.execute("id:3", key -> pending).toFuture();
+        singleFlight.forget(List.of("id:2")).block();
+
+        assertEquals("v3", singleFlight.execute("id:2", key -> Mono.fromCallable(() -> "v" + calls.incrementAndGet())).block());
+        assertEquals(1, singleFlight.inFlight());
+
+        var joined = singleFlight.execute("id:3", key -> Mono.fromCallable(() -> "v" + calls.incrementAndGet())).toFuture();
+
+        pending.onNext("antigo");
+        assertEquals("antigo", stale.join());
+        assertEquals("antigo", other.join());
+        assertEquals("antigo", joined.join());
+        assertEquals(3, calls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Deve executar a busca sem o deadline de quem a iniciou e aplicar o de cada chamador sobre o resultado")
+    void test3() {
+        var singleFlight = new SingleFlight<String, String>();
+        var result = MonoProcessor.<String>create();
+        var deadlineInLoader = new AtomicInteger();
+
+        Function<String, Mono<String>> loader = key -> Mono.subscriberContext()
+                .doOnNext(context -> deadlineInLoader.addAndGet(Deadline.from(context).isPresent() ? 1 : 0))
+                .then(result);
+
+        var patient = singleFlight.execute("id:1", loader)
+                .subscriberContext(Deadline.after(Duration.ofSeconds(30))::in)
+                .toFuture();
+
+        StepVerifier.create(singleFlight.execute("id:1", loader)
+                .subscriberContext(Deadline.after(Duration.ofMillis(50))::in))
+                .expectError(GatewayTimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, singleFlight.inFlight());
+        assertFalse(patient.isDone());
+
+        result.onNext("pessoa");
+
+        assertEquals("pessoa", patient.join());
+        assertEquals(0, deadlineInLoader.get());
+    }
+
+    @Test
+    @DisplayName("Deve executar buscas separadas para a mesma chave em cargas diferentes")
+    void test4() {
+        var singleFlight = new SingleFlight<String, Workload>();
+        var calls = new AtomicInteger();
+        var result = MonoProcessor.<String>create();
+
+        Function<String, Mono<Workload>> loader = key -> Mono.subscriberContext()
+                .doOnNext($ -> calls.incrementAndGet())
+                .flatMap(context -> result.thenReturn(Workload.from(context)));
+
+        var interactive = singleFlight.execute("id:1", loader).toFuture();
+        var interactive2 = singleFlight.execute("id:1", loader).toFuture();
+        var bulk = singleFlight.execute("id:1", loader).subscriberContext(Workload.BULK::in).toFuture();
+
+        assertEquals(2, singleFlight.inFlight());
+
+        result.onNext("pessoa");
+
+        assertEquals(Workload.INTERACTIVE, interactive.join());
+        assertEquals(Workload.INTERACTIVE, interactive2.join());
+        assertEquals(Workload.BULK, bulk.join());
+        assertEquals(2, calls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+}
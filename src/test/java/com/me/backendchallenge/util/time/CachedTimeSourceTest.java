@@ -0,0 +1,44 @@
+package com.me.backendchallenge.util.time;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachedTimeSourceTest {
+
+    private static final Instant INSTANT = Instant.parse("2019-01-10T23:59:59.500Z");
+
+    @Test
+    @DisplayName("Deve retornar o horário do clock convertido para o fuso informado")
+    void test1() {
+        try (var timeSource = new CachedTimeSource(Clock.fixed(INSTANT, ZoneOffset.ofHours(-3)), Duration.ofHours(1))) {
+            assertEquals(LocalDateTime.of(2019, 1, 10, 20, 59, 59, 500_000_000), timeSource.now());
+            assertEquals(LocalDate.of(2019, 1, 10), timeSource.today());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o mesmo horário entre atualizações")
+    void test2() {
+        try (var timeSource = new CachedTimeSource(Clock.systemUTC(), Duration.ofHours(1))) {
+            assertSame(timeSource.now(), timeSource.now());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar resoluções menores que 1ms")
+    void test3() {
+        assertThrows(IllegalArgumentException.class, () -> new CachedTimeSource(Clock.systemUTC(), Duration.ofNanos(500_000)));
+        assertThrows(IllegalArgumentException.class, () -> new CachedTimeSource(Clock.systemUTC(), Duration.ZERO));
+    }
+}